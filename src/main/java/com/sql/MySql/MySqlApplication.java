@@ -2,10 +2,14 @@ package com.sql.MySql;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC is read-only here; its transaction manager would otherwise displace the JPA one
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 @EnableJpaRepositories(basePackages = "com.sql.MySql.repositories")
+@EnableScheduling
 public class MySqlApplication {
 
 	public static void main(String[] args) {
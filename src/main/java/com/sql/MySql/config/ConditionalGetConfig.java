@@ -0,0 +1,36 @@
+package com.sql.MySql.config;
+
+import com.sql.MySql.services.EmployeeDataVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ETag / 304 for the endpoints clients poll. Every tag is the global data version, so any write
+ * invalidates all of them. Off unless employee.conditional-get.enabled=true: each instance only
+ * counts its own writes, so with several sharing the database it would answer 304 for stale copies.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.conditional-get.enabled")
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    static final String[] POLLED_PATHS = { "/api/employees", "/api/managerWithYear",
+            "/api/reactive/employees", "/api/reactive/managerWithYear" };
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final long settleMs;
+
+    public ConditionalGetConfig(EmployeeDataVersion dataVersion,
+            @Value("${employee.conditional-get.settle-ms:0}") long settleMs) {
+        this.dataVersion = dataVersion;
+        this.settleMs = settleMs;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(dataVersion, settleMs)).addPathPatterns(POLLED_PATHS);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sql.MySql.config;
+
+import com.sql.MySql.services.EmployeeDataVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+
+/**
+ * Answers If-None-Match from {@link EmployeeDataVersion} before the handler runs, so an unchanged
+ * poll costs no query and no serialization. The version is read before the handler as well: a
+ * write that commits mid-request can only make the tag older than the body, which costs the
+ * client one extra 200 rather than hiding the write behind a 304. A year filter counts back whole
+ * days from today, so those tags also carry the date: the body can change at midnight without any
+ * write, and only then.
+ * Gzip bodies carry their own tag; a client holding one is answered against that tag.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final EmployeeDataVersion dataVersion;
+
+    private final long settleMs;
+
+    public ConditionalGetInterceptor(EmployeeDataVersion dataVersion, long settleMs) {
+        this.dataVersion = dataVersion;
+        this.settleMs = settleMs;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        long version = dataVersion.current();
+        // A replica may not have the latest write yet; a body read from it must not carry the new tag
+        if (System.currentTimeMillis() - dataVersion.changedAtMillis() < settleMs) {
+            return true;
+        }
+        String etag = request.getParameter("year") != null ? dataVersion.etag(version, LocalDate.now())
+                : dataVersion.etag(version);
+        String gzipEtag = EmployeeDataVersion.forCoding(etag, "gzip");
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.contains(gzipEtag)) {
+            etag = gzipEtag;
+        }
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
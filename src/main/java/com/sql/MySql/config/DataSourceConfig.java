@@ -0,0 +1,69 @@
+package com.sql.MySql.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * The JDBC pool behind JPA and Flyway, declared explicitly: Spring Boot backs off its own
+ * DataSource as soon as an R2DBC ConnectionFactory exists, and the reactive read endpoints need
+ * one. Still configured through spring.datasource.* and spring.datasource.hikari.*.
+ * <p>
+ * Setting employee.datasource.replica.jdbc-url adds a second pool and puts a routing proxy in
+ * front of both: read-only transactions run on the replica, everything else on the primary.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    static final String REPLICA_URL = "employee.datasource.replica.jdbc-url";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    @ConfigurationProperties("employee.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        replica.setPoolName("replica");
+        return replica;
+    }
+
+    // The proxy only fetches a physical connection on the first statement, by which time the
+    // transaction has marked it read-only; that flag is what sends it to the replica side
+    @Bean
+    @Primary
+    @ConditionalOnProperty(REPLICA_URL)
+    public DataSource routingDataSource(@Qualifier("dataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(new ReadReplicaRoutingDataSource(primary, replica));
+        return routing;
+    }
+
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${employee.datasource.read-your-writes-ms:2000}") long windowMs) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(windowMs));
+        registration.setEnabled(windowMs > 0);
+        return registration;
+    }
+}
@@ -0,0 +1,90 @@
+package com.sql.MySql.config;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs before Flyway V3, whose unique index on managerDepartment cannot be built while a department
+ * has more than one top-level manager (departments compare case-insensitively). Such databases were
+ * possible while the rule was only a lookup before the insert. Instead of the bare duplicate-key
+ * error from CREATE UNIQUE INDEX, the migration stops with the departments to fix and an UPDATE per
+ * department that keeps the manager with the lowest id and puts the others under them as associates.
+ * changeManager refuses top-level managers, so this is done in SQL; V6 later works out the reporting
+ * lines of the moved managers and their reports.
+ */
+@Component
+public class ManagerDepartmentPrecheck implements Callback {
+
+    private static final String DUPLICATE_MANAGERS = "SELECT LOWER(department), id FROM EmployeeManagerModel "
+            + "WHERE managerId = '0' AND LOWER(department) IN (SELECT LOWER(department) FROM EmployeeManagerModel "
+            + "WHERE managerId = '0' GROUP BY LOWER(department) HAVING COUNT(*) > 1) ORDER BY LOWER(department), id";
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE && context.getMigrationInfo() != null
+                && context.getMigrationInfo().getVersion() != null
+                && "3".equals(context.getMigrationInfo().getVersion().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        Map<String, List<String>> managersByDepartment = new LinkedHashMap<>();
+        try (Statement select = context.getConnection().createStatement();
+                ResultSet rows = select.executeQuery(DUPLICATE_MANAGERS)) {
+            while (rows.next()) {
+                managersByDepartment.computeIfAbsent(rows.getString(1), department -> new ArrayList<>())
+                        .add(rows.getString(2));
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not check for departments with several managers before V3", e);
+        }
+        if (!managersByDepartment.isEmpty()) {
+            List<String> departments = new ArrayList<>();
+            StringBuilder fixes = new StringBuilder();
+            managersByDepartment.forEach((department, managerIds) -> {
+                departments.add(department + " (" + managerIds.size() + " managers)");
+                fixes.append('\n').append(demoteAllBut(managerIds));
+            });
+            throw new FlywayException("V3 allows one top-level manager per department, but these departments have "
+                    + "more: " + String.join(", ", departments) + ". Keep one top-level manager in each and put "
+                    + "the others under them, for example keeping the lowest id (use another kept id if you "
+                    + "prefer):" + fixes + "\nthen start again.");
+        }
+    }
+
+    // Everyone but the first manager reports to the first one, as an associate since only top-level
+    // managers may be Account Managers
+    static String demoteAllBut(List<String> managerIds) {
+        List<String> others = new ArrayList<>();
+        for (String id : managerIds.subList(1, managerIds.size())) {
+            others.add(literal(id));
+        }
+        return "UPDATE EmployeeManagerModel SET managerId = " + literal(managerIds.get(0))
+                + ", designation = 'associate' WHERE id IN (" + String.join(", ", others) + ");";
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "managerDepartmentPrecheck";
+    }
+}
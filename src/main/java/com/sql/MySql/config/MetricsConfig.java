@@ -0,0 +1,24 @@
+package com.sql.MySql.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-query timers and row counts for the JPA repositories. Connection-acquire time comes from
+ * Spring Boot's HikariCP binding (hikaricp.connections.acquire); everything is scraped from
+ * /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static: a post-processor has to exist before the beans it wraps are created
+    @Bean
+    @ConditionalOnProperty(name = "employee.metrics.repository.enabled", matchIfMissing = true)
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsPostProcessor(meterRegistry);
+    }
+}
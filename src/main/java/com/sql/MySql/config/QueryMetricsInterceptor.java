@@ -0,0 +1,113 @@
+package com.sql.MySql.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call on a repository and records how many rows it handed back, tagged with
+ * query=Repository.method. Meters are built once per method, so a call costs two clock reads and
+ * a map lookup on top of the query itself.
+ */
+public class QueryMetricsInterceptor implements MethodInterceptor {
+
+    public static final String QUERY_TIMER = "employee.repository.query";
+    public static final String ROWS_SUMMARY = "employee.repository.rows";
+
+    private final String repository;
+
+    // Looked up on first call: repositories are proxied before the registry bean exists
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<Method, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetricsInterceptor(String repository, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        QueryMeters queryMeters = meters.computeIfAbsent(method, this::register);
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            queryMeters.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        queryMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (queryMeters.rows != null) {
+            queryMeters.rows.record(rowCount(result));
+        }
+        return result;
+    }
+
+    private QueryMeters register(Method method) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        String query = repository + "." + method.getName();
+        Timer success = Timer.builder(QUERY_TIMER)
+                .description("Time spent in a repository call, including its transaction")
+                .tags("query", query, "outcome", "success")
+                .register(registry);
+        Timer failure = Timer.builder(QUERY_TIMER)
+                .description("Time spent in a repository call, including its transaction")
+                .tags("query", query, "outcome", "error")
+                .register(registry);
+        DistributionSummary rows = returnsRows(method)
+                ? DistributionSummary.builder(ROWS_SUMMARY)
+                        .description("Rows returned by a repository call")
+                        .baseUnit("rows")
+                        .tags("query", query)
+                        .register(registry)
+                : null;
+        return new QueryMeters(success, failure, rows);
+    }
+
+    // Collections and Optionals always; single objects only from lookups, not from save() and friends
+    private static boolean returnsRows(Method method) {
+        Class<?> type = method.getReturnType();
+        if (Iterable.class.isAssignableFrom(type) || type == Optional.class) {
+            return true;
+        }
+        String name = method.getName();
+        return !type.isPrimitive() && (name.startsWith("find") || name.startsWith("get"));
+    }
+
+    private static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Iterable<?> iterable) {
+            long count = 0;
+            for (Object ignored : iterable) {
+                count++;
+            }
+            return count;
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result != null ? 1 : 0;
+    }
+
+    private record QueryMeters(Timer success, Timer failure, DistributionSummary rows) {
+    }
+}
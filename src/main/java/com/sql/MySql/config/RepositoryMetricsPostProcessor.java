@@ -0,0 +1,45 @@
+package com.sql.MySql.config;
+
+import com.sql.MySql.repositories.EmpImpl;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.repositories.EmployeeManagerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Puts a {@link QueryMetricsInterceptor} in front of {@link EmpImpl} and
+ * {@link EmployeeManagerRepository}. Both are already proxies (transactions, Spring Data), so the
+ * interceptor is added as their outermost advice rather than as another proxy layer.
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String repository;
+        if (bean instanceof EmployeeManagerRepository) {
+            repository = EmployeeManagerRepository.class.getSimpleName();
+        } else if (bean instanceof EmployeeManagerCustomRepository) {
+            repository = EmpImpl.class.getSimpleName();
+        } else {
+            return bean;
+        }
+
+        QueryMetricsInterceptor interceptor = new QueryMetricsInterceptor(repository, meterRegistry);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy();
+    }
+}
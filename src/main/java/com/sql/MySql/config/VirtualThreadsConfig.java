@@ -0,0 +1,28 @@
+package com.sql.MySql.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Refuses to start with spring.threads.virtual.enabled=true on a runtime older than Java 21. Spring
+ * Boot would otherwise ignore the property there and quietly keep the platform thread pool, which
+ * is the limit the property is meant to remove.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    public static final int REQUIRED_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        requireSupport(Runtime.version().feature());
+    }
+
+    public static void requireSupport(int javaVersion) {
+        if (javaVersion < REQUIRED_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs Java " + REQUIRED_JAVA_VERSION
+                    + " or later, but this runtime is Java " + javaVersion
+                    + ". Run on Java " + REQUIRED_JAVA_VERSION + " or set the property to false.");
+        }
+    }
+}
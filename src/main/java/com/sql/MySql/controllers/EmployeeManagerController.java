@@ -1,16 +1,36 @@
 package com.sql.MySql.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sql.MySql.helpers.EmployeeSearchCriteria;
 import com.sql.MySql.helpers.ManagerChangeRequest;
 import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.BatchEmployeeResultDTO;
+import com.sql.MySql.response.EmployeeFieldsPageDTO;
+import com.sql.MySql.response.EmployeePageDTO;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.response.HeadcountDTO;
 import com.sql.MySql.response.ManagerChangeResponseDTO;
+import com.sql.MySql.response.OrgNodeDTO;
 import com.sql.MySql.response.ResponseDTO;
 import com.sql.MySql.response.ResponseMessage;
+import com.sql.MySql.response.WriteStatusDTO;
+import com.sql.MySql.services.EmployeeDataVersion;
 import com.sql.MySql.services.EmployeeManagerService;
+import com.sql.MySql.services.EmployeeWritePipeline;
+import com.sql.MySql.services.ManagerResponseCache;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -20,17 +40,128 @@ public class EmployeeManagerController {
     @Autowired
     private EmployeeManagerService employeeService;
 
-    //Get all employees
+    @Autowired
+    private EmployeeWritePipeline employeeWritePipeline;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ManagerResponseCache managerResponseCache;
+
+    //Get all employees, one keyset page at a time
     @GetMapping("/employees")
-    public List<EmployeeManagerModel> getAllEmployees() {
+    public EmployeePageDTO getEmployees(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return employeeService.getEmployeesPage(cursor, limit);
+    }
+
+    //Get one keyset page with only the requested columns, e.g. fields=id,name,department
+    @GetMapping(value = "/employees", params = { "fields", "unpaged!=true" })
+    public EmployeeFieldsPageDTO getEmployeeFields(
+            @RequestParam("fields") String fields,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return employeeService.getEmployeeFieldsPage(fields, cursor, limit);
+    }
+
+    //Get all employees in a single unpaged list (explicit opt-in); whole entities only, so fields= is refused
+    @GetMapping(value = "/employees", params = "unpaged=true")
+    public List<EmployeeManagerModel> getAllEmployees(@RequestParam(value = "fields", required = false) String fields) {
+        if (fields != null) {
+            throw new IllegalArgumentException("fields cannot be combined with unpaged=true; page with cursor instead.");
+        }
         return employeeService.getAllEmployees();
     }
 
-    // Get manager with experience
+    //Search employees by department, designation, location, managerId and joining dates (yyyy-MM-dd), keyset paged
+    @GetMapping("/employees/search")
+    public EmployeePageDTO searchEmployees(EmployeeSearchCriteria criteria,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return employeeService.searchEmployees(criteria, cursor, limit);
+    }
+
+    //Typeahead: employees whose name, any word of it, or email starts with q
+    @GetMapping("/employees/suggest")
+    public List<EmployeeSuggestionDTO> suggestEmployees(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return employeeService.suggestEmployees(query, limit);
+    }
+
+    //Everyone under an employee at any depth, depth-first, from one range scan on the reporting-line path
+    @GetMapping("/employees/{id}/subtree")
+    public ResponseEntity<List<OrgNodeDTO>> getSubtree(@PathVariable("id") String id) {
+        List<OrgNodeDTO> subtree = employeeService.getSubtree(id);
+        if (subtree == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(subtree);
+    }
+
+    //An employee's managers, from the top-level manager down to the direct one
+    @GetMapping("/employees/{id}/ancestors")
+    public ResponseEntity<List<OrgNodeDTO>> getAncestors(@PathVariable("id") String id) {
+        List<OrgNodeDTO> ancestors = employeeService.getAncestors(id);
+        if (ancestors == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(ancestors);
+    }
+
+    //Headcount by department, manager and tenure band, from incrementally maintained counts
+    @GetMapping("/stats/headcount")
+    public HeadcountDTO getHeadcount() {
+        return employeeService.getHeadcount();
+    }
+
+    //Export all employees as NDJSON, written row by row as they come off the cursor
+    @GetMapping(value = "/employees/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                employeeService.exportEmployees(employee -> {
+                    try {
+                        generator.writeObject(employee);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Get manager with experience; with the response cache on, the stored JSON bytes are written as they are
     @GetMapping("/managerWithYear")
-    public ResponseEntity<ResponseDTO> getManagerWithExperience(
+    public ResponseEntity<?> getManagerWithExperience(
             @RequestParam(value = "managerId", required = false) String managerId,
-            @RequestParam(value = "year", required = false) Integer minYearsOfExperience) {
+            @RequestParam(value = "year", required = false) Integer minYearsOfExperience,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse servletResponse) {
+
+        if (managerResponseCache.isEnabled()) {
+            ManagerResponseCache.Body body = managerResponseCache.get(managerId, minYearsOfExperience);
+            if (body == null) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (body.gzip() != null && acceptsGzip(acceptEncoding)) {
+                // The conditional GET tag names the identity bytes; the gzip bytes get their own
+                String etag = servletResponse.getHeader(HttpHeaders.ETAG);
+                if (etag != null) {
+                    servletResponse.setHeader(HttpHeaders.ETAG, EmployeeDataVersion.forCoding(etag, "gzip"));
+                }
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+            }
+            return response.body(body.json());
+        }
 
         ResponseDTO responseDTO = employeeService.managerWithExperience(managerId, minYearsOfExperience);
 
@@ -41,13 +172,36 @@ public class EmployeeManagerController {
         }
     }
 
-    // Add new employee
+    // Add new employee; with the write pipeline enabled it is queued and 202 carries a tracking id
     @PostMapping("/newEmployee")
-    public ResponseEntity<ResponseMessage> addEmployee(@RequestBody EmployeeManagerModel employee) {
+    public ResponseEntity<?> addEmployee(@RequestBody EmployeeManagerModel employee) {
+        if (employeeWritePipeline.isEnabled()) {
+            WriteStatusDTO status = employeeWritePipeline.submit(employee);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/newEmployee/status/" + status.getTrackingId()))
+                    .body(status);
+        }
         employeeService.addEmployee(employee);
         return new ResponseEntity<>(new ResponseMessage("Successfully created."), HttpStatus.CREATED);
     }
 
+    // Outcome of a queued new employee
+    @GetMapping("/newEmployee/status/{trackingId}")
+    public ResponseEntity<WriteStatusDTO> getWriteStatus(@PathVariable String trackingId) {
+        WriteStatusDTO status = employeeWritePipeline.getStatus(trackingId);
+        if (status != null) {
+            return new ResponseEntity<>(status, HttpStatus.OK);
+        } else {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    // Add many employees at once; each row is reported as created or rejected
+    @PostMapping("/employees/batch")
+    public ResponseEntity<List<BatchEmployeeResultDTO>> addEmployees(@RequestBody List<EmployeeManagerModel> employees) {
+        return ResponseEntity.ok(employeeService.addEmployees(employees));
+    }
+
     // Change manager
     @PutMapping("/newManager")
     public ResponseEntity<ManagerChangeResponseDTO> changeManager(@RequestBody ManagerChangeRequest request) {
@@ -64,4 +218,29 @@ public class EmployeeManagerController {
         ResponseMessage response = employeeService.deleteEmployee(employeeId);
         return ResponseEntity.ok(response);
     }
+
+    // "gzip" or "gzip;q=..." with a non-zero q
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(parts[0].trim())) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,36 @@
+package com.sql.MySql.controllers;
+
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.ResponseDTO;
+import com.sql.MySql.services.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking variants of the read endpoints; the servlet thread is released while R2DBC works
+@RestController
+@RequestMapping("/api/reactive")
+public class ReactiveEmployeeController {
+
+    @Autowired
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    //Stream all employees as NDJSON; the next row is only requested once the client has taken the last
+    @GetMapping(value = "/employees", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeResponseDTO> streamEmployees() {
+        return reactiveEmployeeService.streamEmployees();
+    }
+
+    // Get manager with experience
+    @GetMapping("/managerWithYear")
+    public Mono<ResponseDTO> getManagerWithExperience(
+            @RequestParam(value = "managerId", required = false) String managerId,
+            @RequestParam(value = "year", required = false) Integer minYearsOfExperience) {
+        return reactiveEmployeeService.managerWithExperience(managerId, minYearsOfExperience);
+    }
+}
@@ -2,12 +2,18 @@ package com.sql.MySql.handlers;
 
 
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import com.sql.MySql.response.ResponseMessage;
+import com.sql.MySql.services.WritePipelineStoppedException;
+import com.sql.MySql.services.WriteQueueFullException;
+
+import jakarta.persistence.OptimisticLockException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -19,6 +25,43 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(responseMessage, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<ResponseMessage> handleWriteQueueFullException(WriteQueueFullException ex) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1").body(responseMessage);
+    }
+
+    @ExceptionHandler(WritePipelineStoppedException.class)
+    public ResponseEntity<ResponseMessage> handleWritePipelineStoppedException(WritePipelineStoppedException ex) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage(ex.getMessage());
+        return new ResponseEntity<>(responseMessage, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(OptimisticLockException.class)
+    public ResponseEntity<ResponseMessage> handleOptimisticLockException(OptimisticLockException ex) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage(ex.getMessage());
+        return new ResponseEntity<>(responseMessage, HttpStatus.CONFLICT);
+    }
+
+    // Constraint violations the service could not map to a field-specific message
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ResponseMessage> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage("The request conflicts with existing employee data.");
+        return new ResponseEntity<>(responseMessage, HttpStatus.CONFLICT);
+    }
+
+    // A report query cancelled at employee.report.query-timeout-ms
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ResponseMessage> handleQueryTimeoutException(QueryTimeoutException ex) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage("The query took too long. Retry shortly.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(responseMessage);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseMessage> handleGenericException(Exception ex) {
         ResponseMessage responseMessage = new ResponseMessage();
@@ -0,0 +1,65 @@
+package com.sql.MySql.helpers;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+// Query parameters of GET /api/employees/search; every filter is optional and they combine with AND
+public class EmployeeSearchCriteria {
+    private String department;
+    private String designation;
+    private String location;
+    private String managerId;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate joinedFrom; // inclusive
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate joinedTo; // inclusive
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getDesignation() {
+        return designation;
+    }
+
+    public void setDesignation(String designation) {
+        this.designation = designation;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(String managerId) {
+        this.managerId = managerId;
+    }
+
+    public LocalDate getJoinedFrom() {
+        return joinedFrom;
+    }
+
+    public void setJoinedFrom(LocalDate joinedFrom) {
+        this.joinedFrom = joinedFrom;
+    }
+
+    public LocalDate getJoinedTo() {
+        return joinedTo;
+    }
+
+    public void setJoinedTo(LocalDate joinedTo) {
+        this.joinedTo = joinedTo;
+    }
+}
@@ -0,0 +1,64 @@
+package com.sql.MySql.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Materialized reporting line stored in EmployeeManagerModel.orgPath: "/<top-level manager>/.../<id>/".
+// Everyone under X shares X's path as a prefix, so a subtree is one range scan on idx_employee_org_path
+public final class OrgPath {
+
+    public static final char SEPARATOR = '/';
+
+    // Column length in V5__employee_org_path.sql
+    public static final int MAX_LENGTH = 700;
+
+    private OrgPath() {
+    }
+
+    public static String root(String id) {
+        return SEPARATOR + id + SEPARATOR;
+    }
+
+    public static String child(String parentPath, String id) {
+        return parentPath + id + SEPARATOR;
+    }
+
+    // Id of the top-level manager the line starts at
+    public static String headId(String path) {
+        return path.substring(1, path.indexOf(SEPARATOR, 1));
+    }
+
+    // True for the path itself and every path below it
+    public static boolean isWithin(String path, String ancestorPath) {
+        return path != null && ancestorPath != null && path.startsWith(ancestorPath);
+    }
+
+    // Ids from the top-level manager down to the direct manager; the employee's own id is left out
+    public static List<String> ancestorIds(String path) {
+        List<String> ids = new ArrayList<>();
+        int start = 1;
+        int end;
+        while ((end = path.indexOf(SEPARATOR, start)) > 0) {
+            ids.add(path.substring(start, end));
+            start = end + 1;
+        }
+        ids.remove(ids.size() - 1);
+        return ids;
+    }
+
+    // 0 for a top-level manager, 1 for their direct reports, and so on
+    public static int level(String path) {
+        int separators = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == SEPARATOR) {
+                separators++;
+            }
+        }
+        return separators - 2;
+    }
+
+    // LIKE pattern matching the path and everything below it; ids are escaped with '!'
+    public static String subtreePattern(String path) {
+        return path.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -0,0 +1,26 @@
+package com.sql.MySql.helpers;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Case- and accent-folding shared by the typeahead index and the nameFolded / emailFolded columns,
+// so "Zoë" and "ZOE" find each other whichever of the two answers
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Characters between the words of a name; the typeahead finds a name by any of its words
+    public static final String WORD_SEPARATORS = " \t-'.";
+
+    private SearchText() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        return MARKS.matcher(Normalizer.normalize(text.trim(), Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,67 @@
+package com.sql.MySql.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Columns a client may ask for with fields=; the names double as JSON keys and entity attributes,
+// so only these strings ever reach a projected SELECT
+public enum EmployeeField {
+    ID("id"),
+    NAME("name"),
+    DESIGNATION("designation"),
+    EMAIL("email"),
+    DEPARTMENT("department"),
+    MOBILE("mobile"),
+    LOCATION("location"),
+    MANAGER_ID("managerId"),
+    DATE_OF_JOINING("dateOfJoining"),
+    CREATED_TIME("createdTime"),
+    UPDATED_TIME("updatedTime");
+
+    private final String attribute;
+
+    EmployeeField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    // Comma-separated names in request order; repeats are dropped, unknown names rejected
+    public static List<EmployeeField> parse(String fields) {
+        Set<EmployeeField> parsed = new LinkedHashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            EmployeeField field = Arrays.stream(values())
+                    .filter(candidate -> candidate.attribute.equals(trimmed))
+                    .findFirst()
+                    .orElse(null);
+            if (field != null) {
+                parsed.add(field);
+            } else {
+                unknown.add(trimmed);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown fields: " + String.join(", ", unknown) + ". " + allowed());
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required. " + allowed());
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    private static String allowed() {
+        return "Choose from: " + Arrays.stream(values()).map(EmployeeField::getAttribute)
+                .collect(Collectors.joining(", ")) + ".";
+    }
+}
@@ -3,13 +3,39 @@ package com.sql.MySql.models;
 import java.time.LocalDateTime;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sql.MySql.helpers.OrgPath;
+import com.sql.MySql.helpers.SearchText;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
+// Indexes mirror the Flyway migrations in src/main/resources/db/migration, except the
+// one-manager-per-department index, which sits on a generated column the entity does not map
 @Entity
-@Table(name = "EmployeeManagerModel")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee-manager-entities")
+@Table(name = "EmployeeManagerModel", indexes = {
+        @Index(name = "idx_employee_manager_joining", columnList = "managerId, dateOfJoining"),
+        @Index(name = "idx_employee_department_manager", columnList = "department, managerId"),
+        @Index(name = "uk_employee_email", columnList = "email", unique = true),
+        @Index(name = "idx_employee_designation", columnList = "designation"),
+        @Index(name = "idx_employee_location", columnList = "location"),
+        @Index(name = "idx_employee_joining", columnList = "dateOfJoining"),
+        @Index(name = "idx_employee_org_path", columnList = "orgPath"),
+        @Index(name = "idx_employee_name_folded", columnList = "nameFolded"),
+        @Index(name = "idx_employee_email_folded", columnList = "emailFolded")
+})
 public class EmployeeManagerModel {
 
     @Id
@@ -30,6 +56,22 @@ public class EmployeeManagerModel {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
     private LocalDateTime updatedTime;
 
+    // "/<top-level manager>/.../<id>/"; see OrgPath. Kept out of the JSON like the version
+    @Column(length = OrgPath.MAX_LENGTH)
+    @JsonIgnore
+    private String orgPath;
+
+    // SearchText.fold of name and email for the typeahead SQL fallback; derived, so never set directly
+    @JsonIgnore
+    private String nameFolded;
+    @JsonIgnore
+    private String emailFolded;
+
+    // Bumped on every update; stale writers match no row instead of overwriting newer data
+    @Version
+    @JsonIgnore
+    private Long version;
+
     public String getId() {
         return id;
     }
@@ -118,6 +160,37 @@ public class EmployeeManagerModel {
         this.updatedTime = updatedTime;
     }
 
+    public String getOrgPath() {
+        return orgPath;
+    }
+
+    public void setOrgPath(String orgPath) {
+        this.orgPath = orgPath;
+    }
+
+    public String getNameFolded() {
+        return nameFolded;
+    }
+
+    public String getEmailFolded() {
+        return emailFolded;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void foldNameAndEmail() {
+        nameFolded = SearchText.fold(name);
+        emailFolded = SearchText.fold(email);
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "EmployeeManagerModel [id=" + id + ", name=" + name + ", designation=" + designation + ", email=" + email
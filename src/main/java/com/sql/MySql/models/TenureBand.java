@@ -0,0 +1,43 @@
+package com.sql.MySql.models;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// Whole years since dateOfJoining, counted by calendar date; employees without a joining date are UNKNOWN
+public enum TenureBand {
+    UNDER_1("<1y", 0),
+    FROM_1_TO_3("1-3y", 1),
+    FROM_3_TO_5("3-5y", 3),
+    FROM_5_TO_10("5-10y", 5),
+    OVER_10("10y+", 10),
+    UNKNOWN("unknown", -1);
+
+    private final String label;
+    private final int minYears;
+
+    TenureBand(String label, int minYears) {
+        this.label = label;
+        this.minYears = minYears;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public static TenureBand of(LocalDate joined, LocalDate today) {
+        if (joined == null) {
+            return UNKNOWN;
+        }
+        int years = joined.isAfter(today) ? 0 : Period.between(joined, today).getYears();
+        TenureBand band = UNDER_1;
+        for (TenureBand candidate : values()) {
+            if (candidate.minYears >= 0 && years >= candidate.minYears) {
+                band = candidate;
+            }
+        }
+        return band;
+    }
+}
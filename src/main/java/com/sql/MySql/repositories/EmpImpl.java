@@ -1,20 +1,94 @@
 package com.sql.MySql.repositories;
 
+import com.sql.MySql.helpers.EmployeeSearchCriteria;
+import com.sql.MySql.helpers.OrgPath;
+import com.sql.MySql.helpers.SearchText;
+import com.sql.MySql.models.EmployeeField;
 import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.response.OrgNodeDTO;
+import com.sql.MySql.response.ResponseDTO;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.transaction.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class EmpImpl implements EmployeeManagerCustomRepository {
 
+    // Rows pulled per round trip by streamAllEmployees; also how often the persistence context is cleared
+    public static final int STREAM_FETCH_SIZE = 500;
+
+    // Keep in step with hibernate.jdbc.batch_size so each flush sends whole batches
+    public static final int INSERT_BATCH_SIZE = 50;
+
+    // Query-cache region for the single-row lookups hit on most read and write paths
+    public static final String LOOKUP_CACHE_REGION = "employee-manager-lookups";
+
+    private static final String EMPLOYEE_DTO_SELECT = "SELECT new com.sql.MySql.response.EmployeeResponseDTO("
+            + "e.id, e.name, e.designation, e.email, e.department, e.mobile, e.location, "
+            + "e.dateOfJoining, e.createdTime, e.updatedTime) FROM EmployeeManagerModel e";
+
+    private static final String ORG_NODE_SELECT = "SELECT new com.sql.MySql.response.OrgNodeDTO("
+            + "e.id, e.name, e.designation, e.email, e.department, e.managerId, e.dateOfJoining, e.orgPath) "
+            + "FROM EmployeeManagerModel e";
+
+    // MySQL only lets an UPDATE read its own table through a materialised derived table, hence the
+    // nested SELECT and NO_MERGE; other databases treat the hint as a comment. The new manager must be
+    // outside the moved subtree, and on a line headed by the top-level manager of their own department
+    private static final String VALID_NEW_MANAGER = "(SELECT n.department, n.orgPath FROM EmployeeManagerModel n "
+            + "WHERE n.id = :newManagerId AND n.orgPath NOT LIKE :subtree ESCAPE '!' "
+            + "AND EXISTS (SELECT 1 FROM EmployeeManagerModel h WHERE h.managerId = '0' "
+            + "AND LOWER(h.department) = LOWER(n.department) "
+            + "AND SUBSTRING(n.orgPath, 1, CHAR_LENGTH(h.orgPath)) = h.orgPath))";
+
+    private static final String REASSIGN_MANAGER_UPDATE = "UPDATE EmployeeManagerModel SET managerId = :newManagerId, "
+            + "department = (SELECT /*+ NO_MERGE(m) */ m.department FROM " + VALID_NEW_MANAGER + " m), "
+            + "orgPath = CONCAT((SELECT /*+ NO_MERGE(m) */ m.orgPath FROM " + VALID_NEW_MANAGER + " m), :id, '/'), "
+            + "updatedTime = :updatedTime, version = version + 1 "
+            + "WHERE id = :id AND version = :version AND managerId <> '0' AND managerId <> :newManagerId "
+            + "AND EXISTS (SELECT /*+ NO_MERGE(m) */ 1 FROM " + VALID_NEW_MANAGER + " m)";
+
+    // The employee as REASSIGN_MANAGER_UPDATE left it, read inside the same transaction
+    private static final String MOVED_EMPLOYEE = "(SELECT department, orgPath FROM EmployeeManagerModel WHERE id = :id)";
+
+    // Everyone still under the old path: swap that prefix for the employee's new path and take the new
+    // department. Versions move too, so a concurrent change to one of them retries with the new path
+    private static final String MOVE_REPORTS_UPDATE = "UPDATE EmployeeManagerModel SET "
+            + "orgPath = CONCAT((SELECT /*+ NO_MERGE(r) */ r.orgPath FROM " + MOVED_EMPLOYEE + " r), "
+            + "SUBSTRING(orgPath, :oldPathLength + 1)), "
+            + "department = (SELECT /*+ NO_MERGE(r) */ r.department FROM " + MOVED_EMPLOYEE + " r), "
+            + "updatedTime = :updatedTime, version = version + 1 "
+            + "WHERE orgPath LIKE :subtree ESCAPE '!'";
+
     private final EntityManager entityManager;
 
+    // Upper bound for the all-managers report query; the driver cancels the statement when it
+    // is exceeded. 0 leaves it unbounded
+    @Value("${employee.report.query-timeout-ms:30000}")
+    private int reportQueryTimeoutMs;
+
     public EmpImpl(EntityManager entityManager) {
         this.entityManager = entityManager;
     }
@@ -23,15 +97,186 @@ public class EmpImpl implements EmployeeManagerCustomRepository {
     public List<EmployeeManagerModel> getAllEmployees() {
         String query = "SELECT e FROM EmployeeManagerModel e";
         TypedQuery<EmployeeManagerModel> typedQuery = entityManager.createQuery(query, EmployeeManagerModel.class);
+        // Read-only: no dirty-checking snapshots are kept for the whole table
+        typedQuery.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<EmployeeManagerModel> getEmployeesAfterId(String lastId, int limit) {
+        // Seek on the primary key instead of OFFSET so every page costs the same
+        String query = "SELECT e FROM EmployeeManagerModel e"
+                + (lastId != null ? " WHERE e.id > :lastId" : "")
+                + " ORDER BY e.id";
+        TypedQuery<EmployeeManagerModel> typedQuery = entityManager.createQuery(query, EmployeeManagerModel.class);
+        if (lastId != null) {
+            typedQuery.setParameter("lastId", lastId);
+        }
+        typedQuery.setMaxResults(limit);
+        typedQuery.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<Object[]> getEmployeeFieldsAfterId(List<EmployeeField> fields, String lastId, int limit) {
+        // Scalar projection: no entities, no persistence-context entries, only the listed columns on the wire.
+        // id always comes first for the cursor, so asking for it does not select it twice
+        StringBuilder query = new StringBuilder("SELECT e.id");
+        for (EmployeeField field : fields) {
+            if (field != EmployeeField.ID) {
+                query.append(", e.").append(field.getAttribute());
+            }
+        }
+        query.append(" FROM EmployeeManagerModel e")
+                .append(lastId != null ? " WHERE e.id > :lastId" : "")
+                .append(" ORDER BY e.id");
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query.toString(), Object[].class);
+        if (lastId != null) {
+            typedQuery.setParameter("lastId", lastId);
+        }
+        typedQuery.setMaxResults(limit);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<EmployeeManagerModel> searchEmployees(EmployeeSearchCriteria criteria, String lastId, int limit) {
+        // Each filter leads one of the declared indexes (see V4__employee_search_indexes.sql)
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeManagerModel> query = builder.createQuery(EmployeeManagerModel.class);
+        Root<EmployeeManagerModel> employee = query.from(EmployeeManagerModel.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getDepartment() != null) {
+            predicates.add(builder.equal(employee.get("department"), criteria.getDepartment()));
+        }
+        if (criteria.getDesignation() != null) {
+            predicates.add(builder.equal(employee.get("designation"), criteria.getDesignation()));
+        }
+        if (criteria.getLocation() != null) {
+            predicates.add(builder.equal(employee.get("location"), criteria.getLocation()));
+        }
+        if (criteria.getManagerId() != null) {
+            predicates.add(builder.equal(employee.get("managerId"), criteria.getManagerId()));
+        }
+        if (criteria.getJoinedFrom() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(employee.get("dateOfJoining"),
+                    criteria.getJoinedFrom().atStartOfDay()));
+        }
+        if (criteria.getJoinedTo() != null) {
+            predicates.add(builder.lessThan(employee.get("dateOfJoining"),
+                    criteria.getJoinedTo().plusDays(1).atStartOfDay()));
+        }
+        if (lastId != null) {
+            predicates.add(builder.greaterThan(employee.get("id"), lastId));
+        }
+
+        query.select(employee)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.asc(employee.get("id")));
+        TypedQuery<EmployeeManagerModel> typedQuery = entityManager.createQuery(query);
+        typedQuery.setMaxResults(limit);
+        typedQuery.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<EmployeeSuggestionDTO> findSuggestions(String prefix, int limit) {
+        // Only used while EmployeeSuggestIndex is off, and matches what the index would: the folded name, any
+        // later word of it, or the email. Words hold no separators, so a prefix with one only matches the
+        // whole name or the email. Unlike the index, results are ordered by folded name rather than by the
+        // term that matched
+        String escaped = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        boolean singleWord = prefix.chars().noneMatch(c -> SearchText.WORD_SEPARATORS.indexOf(c) >= 0);
+        StringBuilder query = new StringBuilder("SELECT new com.sql.MySql.response.EmployeeSuggestionDTO(e.id, e.name, "
+                + "e.email) FROM EmployeeManagerModel e WHERE e.nameFolded LIKE :prefix ESCAPE '!' "
+                + "OR e.emailFolded LIKE :prefix ESCAPE '!'");
+        if (singleWord) {
+            for (int i = 0; i < SearchText.WORD_SEPARATORS.length(); i++) {
+                query.append(" OR e.nameFolded LIKE :word").append(i).append(" ESCAPE '!'");
+            }
+        }
+        query.append(" ORDER BY e.nameFolded, e.id");
+        TypedQuery<EmployeeSuggestionDTO> typedQuery = entityManager.createQuery(query.toString(),
+                EmployeeSuggestionDTO.class);
+        typedQuery.setParameter("prefix", escaped + "%");
+        if (singleWord) {
+            for (int i = 0; i < SearchText.WORD_SEPARATORS.length(); i++) {
+                typedQuery.setParameter("word" + i, "%" + SearchText.WORD_SEPARATORS.charAt(i) + escaped + "%");
+            }
+        }
+        typedQuery.setMaxResults(limit);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public long countEmployees() {
+        return entityManager.createQuery("SELECT COUNT(e) FROM EmployeeManagerModel e", Long.class).getSingleResult();
+    }
+
+    @Override
+    public List<EmployeeSuggestionDTO> findAllSuggestions() {
+        String query = "SELECT new com.sql.MySql.response.EmployeeSuggestionDTO(e.id, e.name, e.email) "
+                + "FROM EmployeeManagerModel e";
+        return entityManager.createQuery(query, EmployeeSuggestionDTO.class).getResultList();
+    }
+
+    @Override
+    public List<Object[]> countByDepartmentManagerAndJoiningDate() {
+        // Departments are accepted in any case, so they are grouped (and reported) in lower case on every database
+        String query = "SELECT LOWER(e.department), e.managerId, CAST(e.dateOfJoining AS LocalDate), COUNT(e) "
+                + "FROM EmployeeManagerModel e "
+                + "GROUP BY LOWER(e.department), e.managerId, CAST(e.dateOfJoining AS LocalDate)";
+        return entityManager.createQuery(query, Object[].class).getResultList();
+    }
+
+    @Override
+    public List<OrgNodeDTO> findSubtree(String orgPath) {
+        // A prefix LIKE is a range scan on idx_employee_org_path, already in path (depth-first) order
+        String query = ORG_NODE_SELECT + " WHERE e.orgPath LIKE :subtree ESCAPE '!' AND e.orgPath <> :orgPath "
+                + "ORDER BY e.orgPath";
+        TypedQuery<OrgNodeDTO> typedQuery = entityManager.createQuery(query, OrgNodeDTO.class);
+        typedQuery.setParameter("subtree", OrgPath.subtreePattern(orgPath));
+        typedQuery.setParameter("orgPath", orgPath);
         return typedQuery.getResultList();
     }
 
+    @Override
+    public List<OrgNodeDTO> findOrgNodesByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        TypedQuery<OrgNodeDTO> typedQuery = entityManager.createQuery(ORG_NODE_SELECT + " WHERE e.id IN :ids",
+                OrgNodeDTO.class);
+        typedQuery.setParameter("ids", ids);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public void streamAllEmployees(Consumer<EmployeeManagerModel> consumer) {
+        String query = "SELECT e FROM EmployeeManagerModel e";
+        TypedQuery<EmployeeManagerModel> typedQuery = entityManager.createQuery(query, EmployeeManagerModel.class);
+        typedQuery.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE);
+        typedQuery.setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        try (Stream<EmployeeManagerModel> employees = typedQuery.getResultStream()) {
+            int rows = 0;
+            for (EmployeeManagerModel employee : (Iterable<EmployeeManagerModel>) employees::iterator) {
+                consumer.accept(employee);
+                // Drop what has been written so heap stays flat however large the table is
+                if (++rows % STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     @Override
     public EmployeeManagerModel findByIdCustom(String id) {
         try {
             String query = "SELECT e FROM EmployeeManagerModel e WHERE e.id = :id";
             TypedQuery<EmployeeManagerModel> typedQuery = entityManager.createQuery(query, EmployeeManagerModel.class);
             typedQuery.setParameter("id", id);
+            cacheLookup(typedQuery);
             return typedQuery.getSingleResult();
         } catch (NoResultException e) {
             return null; // or handle as needed
@@ -44,6 +289,7 @@ public class EmpImpl implements EmployeeManagerCustomRepository {
             String query = "SELECT e FROM EmployeeManagerModel e WHERE e.id = :managerId";
             TypedQuery<EmployeeManagerModel> typedQuery = entityManager.createQuery(query, EmployeeManagerModel.class);
             typedQuery.setParameter("managerId", managerId);
+            cacheLookup(typedQuery);
             return typedQuery.getSingleResult();
         } catch (NoResultException e) {
             return null; // or handle as needed
@@ -56,12 +302,18 @@ public class EmpImpl implements EmployeeManagerCustomRepository {
             String query = "SELECT e FROM EmployeeManagerModel e WHERE e.department = :department AND e.managerId = '0'";
             TypedQuery<EmployeeManagerModel> typedQuery = entityManager.createQuery(query, EmployeeManagerModel.class);
             typedQuery.setParameter("department", department);
+            cacheLookup(typedQuery);
             return typedQuery.getSingleResult();
         } catch (NoResultException e) {
             return null; // or handle as needed
         }
     }
 
+    private void cacheLookup(TypedQuery<?> typedQuery) {
+        typedQuery.setHint(HibernateHints.HINT_CACHEABLE, true);
+        typedQuery.setHint(HibernateHints.HINT_CACHE_REGION, LOOKUP_CACHE_REGION);
+    }
+
     @Override
     public List<EmployeeManagerModel> getEmployeesByManagerIdAndJoiningDate(String managerId,
             LocalDateTime minJoiningDate) {
@@ -98,6 +350,153 @@ public class EmpImpl implements EmployeeManagerCustomRepository {
         return typedQuery.getResultList();
     }
 
+    @Override
+    public List<String> findExistingIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String query = "SELECT e.id FROM EmployeeManagerModel e WHERE e.id IN :ids";
+        TypedQuery<String> typedQuery = entityManager.createQuery(query, String.class);
+        typedQuery.setParameter("ids", ids);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String query = "SELECT e.email FROM EmployeeManagerModel e WHERE e.email IN :emails";
+        TypedQuery<String> typedQuery = entityManager.createQuery(query, String.class);
+        typedQuery.setParameter("emails", emails);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<EmployeeManagerModel> findManagersByIdsOrDepartments(Collection<String> ids,
+            Collection<String> departments) {
+        if (ids.isEmpty() && departments.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Referenced managers and the current manager of every department in the batch, in one round trip
+        List<String> conditions = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            conditions.add("e.id IN :ids");
+        }
+        if (!departments.isEmpty()) {
+            conditions.add("(e.managerId = '0' AND e.department IN :departments)");
+        }
+        String query = "SELECT e FROM EmployeeManagerModel e WHERE " + String.join(" OR ", conditions);
+        TypedQuery<EmployeeManagerModel> typedQuery = entityManager.createQuery(query, EmployeeManagerModel.class);
+        if (!ids.isEmpty()) {
+            typedQuery.setParameter("ids", ids);
+        }
+        if (!departments.isEmpty()) {
+            typedQuery.setParameter("departments", departments);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public void persistAll(List<EmployeeManagerModel> employees) {
+        // persist() rather than JpaRepository.save(): ids are assigned, so save() would merge with a SELECT per row
+        for (int i = 0; i < employees.size(); i++) {
+            entityManager.persist(employees.get(i));
+            if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Override
+    @Transactional
+    public boolean reassignManager(EmployeeManagerModel employee, String newManagerId, LocalDateTime updatedTime) {
+        String subtree = OrgPath.subtreePattern(employee.getOrgPath());
+        Query update = entityManager.createNativeQuery(REASSIGN_MANAGER_UPDATE)
+                .setParameter("newManagerId", newManagerId)
+                .setParameter("subtree", subtree)
+                .setParameter("updatedTime", updatedTime)
+                .setParameter("id", employee.getId())
+                .setParameter("version", employee.getVersion());
+        // Without this Hibernate treats the native statement as touching every cache region
+        update.unwrap(NativeQuery.class).addSynchronizedEntityClass(EmployeeManagerModel.class);
+        boolean applied = update.executeUpdate() == 1;
+        if (applied) {
+            Query moveReports = entityManager.createNativeQuery(MOVE_REPORTS_UPDATE)
+                    .setParameter("id", employee.getId())
+                    .setParameter("oldPathLength", employee.getOrgPath().length())
+                    .setParameter("subtree", subtree)
+                    .setParameter("updatedTime", updatedTime);
+            moveReports.unwrap(NativeQuery.class).addSynchronizedEntityClass(EmployeeManagerModel.class);
+            moveReports.executeUpdate();
+        }
+        // The managed copy is stale either way; the next read has to see the row as it is now
+        if (entityManager.contains(employee)) {
+            entityManager.detach(employee);
+        }
+        return applied;
+    }
+
+    @Override
+    public List<ResponseDTO.Details> findManagersWithEmployees(LocalDateTime minJoiningDate) {
+        return findManagersWithEmployees(minJoiningDate, reportQueryTimeoutMs);
+    }
+
+    @Override
+    public List<ResponseDTO.Details> findManagersWithEmployees(LocalDateTime minJoiningDate, int queryTimeoutMs) {
+        // Left join keeps managers without (matching) reports; the date filter sits in the ON clause for that reason
+        String query = "SELECT m.id, m.name, m.department, e.id, e.name, e.designation, e.email, e.department, "
+                + "e.mobile, e.location, e.dateOfJoining, e.createdTime, e.updatedTime "
+                + "FROM EmployeeManagerModel m LEFT JOIN EmployeeManagerModel e ON e.managerId = m.id"
+                + (minJoiningDate != null ? " AND e.dateOfJoining <= :minJoiningDate" : "")
+                + " WHERE m.managerId = '0' ORDER BY m.id, e.id";
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query, Object[].class);
+        if (minJoiningDate != null) {
+            typedQuery.setParameter("minJoiningDate", minJoiningDate);
+        }
+        if (queryTimeoutMs > 0) {
+            typedQuery.setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, queryTimeoutMs);
+        }
+
+        Map<String, ResponseDTO.Details> detailsByManager = new LinkedHashMap<>();
+        for (Object[] row : typedQuery.getResultList()) {
+            ResponseDTO.Details details = detailsByManager.computeIfAbsent((String) row[0], managerId -> {
+                ResponseDTO.Details newDetails = new ResponseDTO.Details();
+                newDetails.setId(managerId);
+                newDetails.setAccountManager((String) row[1]);
+                newDetails.setDepartment((String) row[2]);
+                newDetails.setEmployeeList(new ArrayList<>());
+                return newDetails;
+            });
+            if (row[3] != null) {
+                details.getEmployeeList().add(new EmployeeResponseDTO((String) row[3], (String) row[4],
+                        (String) row[5], (String) row[6], (String) row[7], (String) row[8], (String) row[9],
+                        (LocalDateTime) row[10], (LocalDateTime) row[11], (LocalDateTime) row[12]));
+            }
+        }
+        return new ArrayList<>(detailsByManager.values());
+    }
+
+    @Override
+    public List<EmployeeResponseDTO> findEmployeeDTOsByManagerId(String managerId) {
+        String query = EMPLOYEE_DTO_SELECT + " WHERE e.managerId = :managerId";
+        TypedQuery<EmployeeResponseDTO> typedQuery = entityManager.createQuery(query, EmployeeResponseDTO.class);
+        typedQuery.setParameter("managerId", managerId);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<EmployeeResponseDTO> findEmployeeDTOsByManagerIdAndJoiningDate(String managerId,
+            LocalDateTime minJoiningDate) {
+        String query = EMPLOYEE_DTO_SELECT + " WHERE e.managerId = :managerId AND e.dateOfJoining <= :minJoiningDate";
+        TypedQuery<EmployeeResponseDTO> typedQuery = entityManager.createQuery(query, EmployeeResponseDTO.class);
+        typedQuery.setParameter("managerId", managerId);
+        typedQuery.setParameter("minJoiningDate", minJoiningDate);
+        return typedQuery.getResultList();
+    }
+
     // @Override
     // public List<EmployeeManagerModel>
     // findByManagerIdAndDateOfJoiningBeforeOrEqual(String managerId, LocalDate
@@ -1,13 +1,50 @@
 package com.sql.MySql.repositories;
 
+import com.sql.MySql.helpers.EmployeeSearchCriteria;
+import com.sql.MySql.models.EmployeeField;
 import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.response.OrgNodeDTO;
+import com.sql.MySql.response.ResponseDTO;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmployeeManagerCustomRepository {
 
     List<EmployeeManagerModel> getAllEmployees();
+
+    // Keyset page ordered by id; lastId may be null for the first page
+    List<EmployeeManagerModel> getEmployeesAfterId(String lastId, int limit);
+
+    // Same keyset page with only the given columns; each row is id followed by the fields in order
+    List<Object[]> getEmployeeFieldsAfterId(List<EmployeeField> fields, String lastId, int limit);
+
+    // Keyset page of the employees matching every non-null filter in criteria, ordered by id
+    List<EmployeeManagerModel> searchEmployees(EmployeeSearchCriteria criteria, String lastId, int limit);
+
+    // Typeahead without the in-memory index: name, any word of the name or email starting with an already
+    // folded prefix, ordered by folded name and id
+    List<EmployeeSuggestionDTO> findSuggestions(String prefix, int limit);
+
+    long countEmployees();
+
+    // Id, name and email of every employee, for building the typeahead index
+    List<EmployeeSuggestionDTO> findAllSuggestions();
+
+    // Rows of department, managerId, joining date (LocalDate, may be null) and the number of employees
+    List<Object[]> countByDepartmentManagerAndJoiningDate();
+
+    // Everyone below the given path, in depth-first order; the employee at the path is left out
+    List<OrgNodeDTO> findSubtree(String orgPath);
+
+    List<OrgNodeDTO> findOrgNodesByIds(Collection<String> ids);
+
+    // Forward-only scan of the whole table; must run inside a transaction
+    void streamAllEmployees(Consumer<EmployeeManagerModel> consumer);
     
     EmployeeManagerModel findByIdCustom(String id);
 
@@ -22,6 +59,33 @@ public interface EmployeeManagerCustomRepository {
     List<EmployeeManagerModel> findByDepartment(String department);
 
     List<EmployeeManagerModel> findByDateOfJoiningBefore(LocalDate minJoiningDate);
+
+    // Set-based lookups for batch inserts
+    List<String> findExistingIds(Collection<String> ids);
+
+    List<String> findExistingEmails(Collection<String> emails);
+
+    List<EmployeeManagerModel> findManagersByIdsOrDepartments(Collection<String> ids, Collection<String> departments);
+
+    // Persists new rows through JDBC batching; must run inside a transaction
+    void persistAll(List<EmployeeManagerModel> employees);
+
+    // One conditional UPDATE of the employee, then one set-based UPDATE moving everyone below them, in
+    // their own transaction; false when the employee's version moved on, the employee is a top-level
+    // manager, or the new manager is missing, inside the employee's own subtree, or not on a line
+    // headed by their department's top-level manager
+    boolean reassignManager(EmployeeManagerModel employee, String newManagerId, LocalDateTime updatedTime);
+
+    // Managers with their reports in one query; minJoiningDate may be null to skip the date filter
+    List<ResponseDTO.Details> findManagersWithEmployees(LocalDateTime minJoiningDate);
+
+    // Same query with its own timeout in milliseconds, 0 for none
+    List<ResponseDTO.Details> findManagersWithEmployees(LocalDateTime minJoiningDate, int queryTimeoutMs);
+
+    // Read-only projections that skip entity hydration
+    List<EmployeeResponseDTO> findEmployeeDTOsByManagerId(String managerId);
+
+    List<EmployeeResponseDTO> findEmployeeDTOsByManagerIdAndJoiningDate(String managerId, LocalDateTime minJoiningDate);
     
     //List<EmployeeManagerModel> findByManagerIdAndDateOfJoiningBeforeOrEqual(String managerId, LocalDate minJoiningDate);
 
@@ -0,0 +1,108 @@
+package com.sql.MySql.repositories;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.ResponseDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking reads over R2DBC for the reactive endpoints. Same queries as {@link EmpImpl},
+ * written as SQL because JPA has no reactive driver; rows map straight onto the response DTOs.
+ */
+@Repository
+public class ReactiveEmployeeRepository {
+
+    // Rows requested from the driver at a time while streaming, however slowly the client reads
+    public static final int STREAM_PREFETCH = 256;
+
+    private static final String EMPLOYEE_COLUMNS = "e.id, e.name, e.designation, e.email, e.department, e.mobile, "
+            + "e.location, e.dateOfJoining, e.createdTime, e.updatedTime";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<EmployeeResponseDTO> streamAllEmployees() {
+        return databaseClient.sql("SELECT " + EMPLOYEE_COLUMNS + " FROM EmployeeManagerModel e ORDER BY e.id")
+                .map(ReactiveEmployeeRepository::toEmployeeDTO)
+                .all()
+                .limitRate(STREAM_PREFETCH);
+    }
+
+    // Only id, name, department and managerId are read; empty when the id does not exist
+    public Mono<EmployeeManagerModel> findById(String id) {
+        return databaseClient.sql("SELECT e.id, e.name, e.department, e.managerId FROM EmployeeManagerModel e "
+                        + "WHERE e.id = :id")
+                .bind("id", id)
+                .map(row -> {
+                    EmployeeManagerModel employee = new EmployeeManagerModel();
+                    employee.setId(row.get("id", String.class));
+                    employee.setName(row.get("name", String.class));
+                    employee.setDepartment(row.get("department", String.class));
+                    employee.setManagerId(row.get("managerId", String.class));
+                    return employee;
+                })
+                .one();
+    }
+
+    public Flux<EmployeeResponseDTO> findEmployeesByManagerId(String managerId, LocalDateTime minJoiningDate) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT " + EMPLOYEE_COLUMNS
+                        + " FROM EmployeeManagerModel e WHERE e.managerId = :managerId"
+                        + (minJoiningDate != null ? " AND e.dateOfJoining <= :minJoiningDate" : ""))
+                .bind("managerId", managerId);
+        if (minJoiningDate != null) {
+            spec = spec.bind("minJoiningDate", minJoiningDate);
+        }
+        return spec.map(ReactiveEmployeeRepository::toEmployeeDTO).all();
+    }
+
+    // Same LEFT JOIN as EmpImpl#findManagersWithEmployees; rows arrive ordered by manager, so each
+    // manager's group is closed as soon as the next manager's first row shows up
+    public Flux<ResponseDTO.Details> findManagersWithEmployees(LocalDateTime minJoiningDate) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT m.id AS managerId, "
+                + "m.name AS managerName, m.department AS managerDepartment, " + EMPLOYEE_COLUMNS
+                + " FROM EmployeeManagerModel m LEFT JOIN EmployeeManagerModel e ON e.managerId = m.id"
+                + (minJoiningDate != null ? " AND e.dateOfJoining <= :minJoiningDate" : "")
+                + " WHERE m.managerId = '0' ORDER BY m.id, e.id");
+        if (minJoiningDate != null) {
+            spec = spec.bind("minJoiningDate", minJoiningDate);
+        }
+        return spec.map(row -> new Object[] { row.get("managerId", String.class), row.get("managerName", String.class),
+                        row.get("managerDepartment", String.class),
+                        row.get("id", String.class) != null ? toEmployeeDTO(row) : null })
+                .all()
+                .bufferUntilChanged(row -> row[0])
+                .map(rows -> {
+                    ResponseDTO.Details details = new ResponseDTO.Details();
+                    details.setId((String) rows.get(0)[0]);
+                    details.setAccountManager((String) rows.get(0)[1]);
+                    details.setDepartment((String) rows.get(0)[2]);
+                    List<EmployeeResponseDTO> employees = new ArrayList<>();
+                    for (Object[] row : rows) {
+                        if (row[3] != null) {
+                            employees.add((EmployeeResponseDTO) row[3]);
+                        }
+                    }
+                    details.setEmployeeList(employees);
+                    return details;
+                });
+    }
+
+    private static EmployeeResponseDTO toEmployeeDTO(Readable row) {
+        return new EmployeeResponseDTO(row.get("id", String.class), row.get("name", String.class),
+                row.get("designation", String.class), row.get("email", String.class),
+                row.get("department", String.class), row.get("mobile", String.class),
+                row.get("location", String.class), row.get("dateOfJoining", LocalDateTime.class),
+                row.get("createdTime", LocalDateTime.class), row.get("updatedTime", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,77 @@
+package com.sql.MySql.response;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.sql.MySql.models.EmployeeField;
+
+// A keyset page of projected rows (id, then the requested fields other than id). Written straight
+// from the rows in the same shape as EmployeePageDTO, so no entity or DTO is built per employee
+@JsonSerialize(using = EmployeeFieldsPageDTO.Serializer.class)
+public class EmployeeFieldsPageDTO {
+
+    // Same pattern as the @JsonFormat on EmployeeManagerModel's dates
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    private final List<EmployeeField> fields;
+    private final List<Object[]> rows;
+    private final String nextCursor; // null when this is the last page
+
+    public EmployeeFieldsPageDTO(List<EmployeeField> fields, List<Object[]> rows, String nextCursor) {
+        this.fields = fields;
+        this.rows = rows;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EmployeeField> getFields() {
+        return fields;
+    }
+
+    public List<Object[]> getRows() {
+        return rows;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public static class Serializer extends StdSerializer<EmployeeFieldsPageDTO> {
+
+        public Serializer() {
+            super(EmployeeFieldsPageDTO.class);
+        }
+
+        @Override
+        public void serialize(EmployeeFieldsPageDTO page, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            List<EmployeeField> fields = page.getFields();
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("employees");
+            for (Object[] row : page.getRows()) {
+                generator.writeStartObject();
+                int column = 1;
+                for (EmployeeField field : fields) {
+                    Object value = field == EmployeeField.ID ? row[0] : row[column++];
+                    generator.writeFieldName(field.getAttribute());
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof LocalDateTime dateTime) {
+                        generator.writeString(DATE_FORMAT.format(dateTime));
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", page.getNextCursor());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sql.MySql.response;
+
+import java.util.List;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+
+public class EmployeePageDTO {
+    private List<EmployeeManagerModel> employees;
+    private String nextCursor; // null when this is the last page
+
+    public EmployeePageDTO() {}
+
+    public EmployeePageDTO(List<EmployeeManagerModel> employees, String nextCursor) {
+        this.employees = employees;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EmployeeManagerModel> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeeManagerModel> employees) {
+        this.employees = employees;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
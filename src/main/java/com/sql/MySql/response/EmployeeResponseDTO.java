@@ -22,6 +22,25 @@ public class EmployeeResponseDTO {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
     private LocalDateTime updatedTime;
 
+    public EmployeeResponseDTO() {
+    }
+
+    // Used by JPQL constructor expressions in EmpImpl
+    public EmployeeResponseDTO(String id, String name, String designation, String email, String department,
+            String mobile, String location, LocalDateTime dateOfJoining, LocalDateTime createdTime,
+            LocalDateTime updatedTime) {
+        this.id = id;
+        this.name = name;
+        this.designation = designation;
+        this.email = email;
+        this.department = department;
+        this.mobile = mobile;
+        this.location = location;
+        this.dateOfJoining = dateOfJoining;
+        this.createdTime = createdTime;
+        this.updatedTime = updatedTime;
+    }
+
     // Getters and setters
     public String getId() {
         return id;
@@ -0,0 +1,93 @@
+package com.sql.MySql.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.sql.MySql.models.TenureBand;
+
+public class HeadcountDTO {
+    private LocalDate asOf; // the date tenure bands were computed against
+    private long total;
+    private List<Group> groups;
+
+    public HeadcountDTO() {}
+
+    public HeadcountDTO(LocalDate asOf, long total, List<Group> groups) {
+        this.asOf = asOf;
+        this.total = total;
+        this.groups = groups;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<Group> groups) {
+        this.groups = groups;
+    }
+
+    // Managers themselves are counted under managerId "0"
+    public static class Group {
+        private String department;
+        private String managerId;
+        private TenureBand tenure;
+        private long count;
+
+        public Group() {}
+
+        public Group(String department, String managerId, TenureBand tenure, long count) {
+            this.department = department;
+            this.managerId = managerId;
+            this.tenure = tenure;
+            this.count = count;
+        }
+
+        public String getDepartment() {
+            return department;
+        }
+
+        public void setDepartment(String department) {
+            this.department = department;
+        }
+
+        public String getManagerId() {
+            return managerId;
+        }
+
+        public void setManagerId(String managerId) {
+            this.managerId = managerId;
+        }
+
+        public TenureBand getTenure() {
+            return tenure;
+        }
+
+        public void setTenure(TenureBand tenure) {
+            this.tenure = tenure;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.sql.MySql.response;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.sql.MySql.helpers.OrgPath;
+
+// One employee in a reporting line; managerId and level let clients rebuild the tree from a flat list
+public class OrgNodeDTO {
+    private String id;
+    private String name;
+    private String designation;
+    private String email;
+    private String department;
+    private String managerId;
+    private int level; // 0 for a top-level manager
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime dateOfJoining;
+
+    public OrgNodeDTO() {
+    }
+
+    // Used by JPQL constructor expressions in EmpImpl
+    public OrgNodeDTO(String id, String name, String designation, String email, String department, String managerId,
+            LocalDateTime dateOfJoining, String orgPath) {
+        this.id = id;
+        this.name = name;
+        this.designation = designation;
+        this.email = email;
+        this.department = department;
+        this.managerId = managerId;
+        this.dateOfJoining = dateOfJoining;
+        this.level = OrgPath.level(orgPath);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDesignation() {
+        return designation;
+    }
+
+    public void setDesignation(String designation) {
+        this.designation = designation;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(String managerId) {
+        this.managerId = managerId;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public LocalDateTime getDateOfJoining() {
+        return dateOfJoining;
+    }
+
+    public void setDateOfJoining(LocalDateTime dateOfJoining) {
+        this.dateOfJoining = dateOfJoining;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sql.MySql.response;
+
+public class WriteStatusDTO {
+    public static final String PENDING = "PENDING";
+
+    private String trackingId;
+    private String id; // employee id from the request
+    private String status; // PENDING, then BatchEmployeeResultDTO.CREATED or REJECTED
+    private String message;
+
+    public WriteStatusDTO() {}
+
+    public WriteStatusDTO(String trackingId, String id, String status, String message) {
+        this.trackingId = trackingId;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,145 @@
+package com.sql.MySql.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an in-process copy of employee data ({@link OrgHierarchyIndex}, {@link HeadcountAggregates},
+ * {@link EmployeeSuggestIndex}) in step with committed writes. A change is applied once its
+ * transaction commits, and every write moves a generation counter, including writes that land while
+ * the copy is not built yet.
+ * <p>
+ * A reload runs its query without holding anything, so writers never wait on it. The result is swapped
+ * in only if no write was committing when the query started and none committed while it ran; the
+ * copy then holds every committed write exactly once. An overtaken load is repeated a few times and
+ * then left to the next periodic check, while the copy keeps serving (or, before the first build,
+ * callers keep using SQL).
+ */
+class CommittedChanges {
+
+    private static final Logger log = LoggerFactory.getLogger(CommittedChanges.class);
+
+    static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final String name;
+
+    private final BooleanSupplier enabled;
+
+    private final BooleanSupplier ready;
+
+    // Guards the copy, generation and committing; changes and swaps are applied while holding it
+    private final Object lock = new Object();
+
+    private volatile long generation;
+
+    // Transactions between beforeCommit and afterCompletion; a query may or may not see their rows
+    private int committing;
+
+    /**
+     * @param name    for log messages
+     * @param enabled nothing is tracked while this is false
+     * @param ready   changes are applied only while this is true; the generation moves either way
+     */
+    CommittedChanges(String name, BooleanSupplier enabled, BooleanSupplier ready) {
+        this.name = name;
+        this.enabled = enabled;
+        this.ready = ready;
+    }
+
+    // Runs the action once the surrounding transaction commits; a rolled-back write never runs it, and
+    // outside a transaction the write has already committed
+    static void whenCommitted(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Moves the generation, and applies the change to a ready copy, once the surrounding transaction commits
+    void afterCommit(Runnable change) {
+        if (!enabled.getAsBoolean()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (lock) {
+                apply(change);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean counted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                synchronized (lock) {
+                    committing++;
+                    generation++;
+                    counted = true;
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (lock) {
+                    if (status == STATUS_COMMITTED) {
+                        apply(change);
+                    }
+                    if (counted) {
+                        committing--;
+                        generation++;
+                    }
+                }
+            }
+        });
+    }
+
+    // The change lands before the generation moves, so nothing is ever filed under a newer generation
+    // than the data it was built from
+    private void apply(Runnable change) {
+        if (ready.getAsBoolean()) {
+            change.run();
+        }
+        generation++;
+    }
+
+    // Read without the lock; equal values mean the copy has not changed in between
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * Hands the action, under the lock, a load that no write overtook. Returns what the action returned,
+     * or true when every attempt was overtaken and the action never ran.
+     */
+    <T> boolean withSnapshot(Supplier<T> load, Predicate<T> action) {
+        for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+            long seen;
+            synchronized (lock) {
+                seen = committing == 0 ? generation : -1;
+            }
+            T loaded = load.get();
+            synchronized (lock) {
+                if (seen >= 0 && generation == seen) {
+                    boolean result = action.test(loaded);
+                    // A swap is a change as well, for anything cached against the generation
+                    generation++;
+                    return result;
+                }
+            }
+        }
+        log.info("{}: every load was overtaken by writes; trying again at the next check", name);
+        return true;
+    }
+}
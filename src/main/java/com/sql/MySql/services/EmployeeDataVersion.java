@@ -0,0 +1,59 @@
+package com.sql.MySql.services;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the employee data as a whole, bumped once each write commits. GET responses carry it
+ * as their ETag, so a poller whose copy is current gets a 304 without a query being run. The
+ * counter lives in this process: it starts over on restart (hence the startup stamp in the tag)
+ * and does not see writes made by other instances or straight against the database.
+ */
+@Component
+public class EmployeeDataVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile long changedAtMillis = System.currentTimeMillis();
+
+    public long current() {
+        return version.get();
+    }
+
+    // Strong tag: equal tags mean byte-identical bodies for the same URL
+    public String etag() {
+        return etag(current());
+    }
+
+    public String etag(long version) {
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+    // For bodies that also depend on the date, e.g. managerWithYear's experience filter
+    public String etag(long version, LocalDate day) {
+        return "\"" + epoch + "-" + version + "-" + day + "\"";
+    }
+
+    // Strong tags must differ between content-codings of the same resource, e.g. "x" and "x-gzip"
+    public static String forCoding(String etag, String coding) {
+        return etag.substring(0, etag.length() - 1) + "-" + coding + "\"";
+    }
+
+    public long changedAtMillis() {
+        return changedAtMillis;
+    }
+
+    // A rolled-back write leaves the version alone
+    public void bumpAfterCommit() {
+        CommittedChanges.whenCommitted(this::bump);
+    }
+
+    private void bump() {
+        changedAtMillis = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+}
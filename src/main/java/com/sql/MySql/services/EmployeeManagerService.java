@@ -1,25 +1,45 @@
 package com.sql.MySql.services;
 
+import com.sql.MySql.config.ReadReplicaRoutingDataSource;
+import com.sql.MySql.helpers.EmployeeSearchCriteria;
+import com.sql.MySql.helpers.OrgPath;
+import com.sql.MySql.models.EmployeeField;
 import com.sql.MySql.models.EmployeeManagerModel;
 import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
 import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.response.BatchEmployeeResultDTO;
+import com.sql.MySql.response.EmployeeFieldsPageDTO;
+import com.sql.MySql.response.EmployeePageDTO;
 import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.response.HeadcountDTO;
 import com.sql.MySql.response.ManagerChangeResponseDTO;
+import com.sql.MySql.response.OrgNodeDTO;
 import com.sql.MySql.response.ResponseDTO;
 import com.sql.MySql.response.ResponseMessage;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.OptimisticLockException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,10 +51,164 @@ public class EmployeeManagerService {
     @Autowired
     private EmployeeManagerRepository employeeManagerMainRepository;
 
+    @Autowired
+    private OrgHierarchyIndex orgHierarchyIndex;
+
+    @Autowired
+    private EmployeeValidator employeeValidator;
+
+    @Autowired
+    private EmployeeDataVersion dataVersion;
+
+    @Autowired
+    private EmployeeSuggestIndex employeeSuggestIndex;
+
+    @Autowired
+    private HeadcountAggregates headcountAggregates;
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    // Unique indexes from the Flyway migrations that stand in for pre-insert lookups
+    private static final String EMAIL_CONSTRAINT = "uk_employee_email";
+    private static final String DEPARTMENT_MANAGER_CONSTRAINT = "uk_employee_department_manager";
+
+    // Conditional manager-change UPDATEs tried before giving up with a 409
+    public static final int MAX_CHANGE_MANAGER_ATTEMPTS = 3;
+
+    public static final int DEFAULT_SUGGEST_LIMIT = 10;
+    public static final int MAX_SUGGEST_LIMIT = 50;
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    // Read-only transactions run on the replica when one is configured
+    @Transactional(readOnly = true)
     public List<EmployeeManagerModel> getAllEmployees() {
         return employeeManagerRepository.getAllEmployees();
     }
 
+    // GET (streamed export); the transaction keeps the cursor open while the consumer writes
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<EmployeeManagerModel> consumer) {
+        employeeManagerRepository.streamAllEmployees(consumer);
+    }
+
+    // GET (keyset paged)
+    @Transactional(readOnly = true)
+    public EmployeePageDTO getEmployeesPage(String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        String lastId = cursor != null ? decodeCursor(cursor) : null;
+
+        // Fetch one extra row to find out whether another page exists
+        List<EmployeeManagerModel> employees = employeeManagerRepository.getEmployeesAfterId(lastId, pageSize + 1);
+        String nextCursor = null;
+        if (employees.size() > pageSize) {
+            employees = employees.subList(0, pageSize);
+            nextCursor = encodeCursor(employees.get(pageSize - 1).getId());
+        }
+        return new EmployeePageDTO(employees, nextCursor);
+    }
+
+    // GET (keyset paged, fields= projection)
+    @Transactional(readOnly = true)
+    public EmployeeFieldsPageDTO getEmployeeFieldsPage(String fields, String cursor, Integer limit) {
+        List<EmployeeField> selected = EmployeeField.parse(fields);
+        int pageSize = pageSize(limit);
+        String lastId = cursor != null ? decodeCursor(cursor) : null;
+
+        List<Object[]> rows = employeeManagerRepository.getEmployeeFieldsAfterId(selected, lastId, pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = encodeCursor((String) rows.get(pageSize - 1)[0]);
+        }
+        return new EmployeeFieldsPageDTO(selected, rows, nextCursor);
+    }
+
+    // GET (search, keyset paged)
+    @Transactional(readOnly = true)
+    public EmployeePageDTO searchEmployees(EmployeeSearchCriteria criteria, String cursor, Integer limit) {
+        if (criteria.getJoinedFrom() != null && criteria.getJoinedTo() != null
+                && criteria.getJoinedFrom().isAfter(criteria.getJoinedTo())) {
+            throw new IllegalArgumentException("joinedFrom must not be after joinedTo.");
+        }
+        int pageSize = pageSize(limit);
+        String lastId = cursor != null ? decodeCursor(cursor) : null;
+
+        List<EmployeeManagerModel> employees = employeeManagerRepository.searchEmployees(criteria, lastId, pageSize + 1);
+        String nextCursor = null;
+        if (employees.size() > pageSize) {
+            employees = employees.subList(0, pageSize);
+            nextCursor = encodeCursor(employees.get(pageSize - 1).getId());
+        }
+        return new EmployeePageDTO(employees, nextCursor);
+    }
+
+    // GET (typeahead on name and email); no transaction, so an index hit never checks out a connection
+    public List<EmployeeSuggestionDTO> suggestEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must not be blank.");
+        }
+        int max = limit != null ? limit : DEFAULT_SUGGEST_LIMIT;
+        if (max < 1 || max > MAX_SUGGEST_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGEST_LIMIT + ".");
+        }
+        if (employeeSuggestIndex.isReady()) {
+            return employeeSuggestIndex.suggest(query, max);
+        }
+        return employeeManagerRepository.findSuggestions(EmployeeSuggestIndex.fold(query), max);
+    }
+
+    // GET (everyone under an employee, at any depth); null when the employee does not exist
+    @Transactional(readOnly = true)
+    public List<OrgNodeDTO> getSubtree(String id) {
+        EmployeeManagerModel employee = employeeManagerRepository.findByIdCustom(id);
+        if (employee == null) {
+            return null;
+        }
+        return employeeManagerRepository.findSubtree(employee.getOrgPath());
+    }
+
+    // GET (reporting line from the top-level manager down to the direct manager); null when the
+    // employee does not exist. The ids come from the path, so this is one primary-key lookup
+    @Transactional(readOnly = true)
+    public List<OrgNodeDTO> getAncestors(String id) {
+        EmployeeManagerModel employee = employeeManagerRepository.findByIdCustom(id);
+        if (employee == null) {
+            return null;
+        }
+        List<String> ancestorIds = OrgPath.ancestorIds(employee.getOrgPath());
+        Map<String, OrgNodeDTO> nodesById = new HashMap<>();
+        for (OrgNodeDTO node : employeeManagerRepository.findOrgNodesByIds(ancestorIds)) {
+            nodesById.put(node.getId(), node);
+        }
+        List<OrgNodeDTO> ancestors = new ArrayList<>(ancestorIds.size());
+        for (String ancestorId : ancestorIds) {
+            if (nodesById.containsKey(ancestorId)) {
+                ancestors.add(nodesById.get(ancestorId));
+            }
+        }
+        return ancestors;
+    }
+
+    // GET (headcount by department, manager and tenure band); the GROUP BY only runs while the
+    // incremental aggregates are off
+    public HeadcountDTO getHeadcount() {
+        LocalDate today = LocalDate.now();
+        if (headcountAggregates.isReady()) {
+            return headcountAggregates.getHeadcount(today);
+        }
+        return headcountAggregates.getHeadcountFromDatabase(today);
+    }
+
+    private int pageSize(Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return pageSize;
+    }
+
     // POST
     @Transactional
     public EmployeeManagerModel addEmployee(EmployeeManagerModel employee) {
@@ -45,8 +219,11 @@ public class EmployeeManagerService {
         String department = employee.getDepartment();
         String managerId = employee.getManagerId(); // Changed to String
 
-        // Validate employee data
-        validateEmployeeData(id, email, designation, mobileNumber, department);
+        // Format checks only; id, email and one-manager-per-department are enforced by the insert
+        List<String> violations = employeeValidator.validate(id, email, designation, mobileNumber, department);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join(" ", violations));
+        }
 
         // Set creation and update times
         LocalDateTime now = LocalDateTime.now();
@@ -56,83 +233,221 @@ public class EmployeeManagerService {
       
         // Handle employee as manager or regular employee
         if ("0".equals(managerId)) { // Changed to String comparison
-            if ("Account Manager".equalsIgnoreCase(designation)) {
-                handleEmployeeAsManager(employee, department);
-            } else {
+            if (!"Account Manager".equalsIgnoreCase(designation)) {
                 throw new IllegalArgumentException("Designation must be Account Manager for a new manager.");
             }
+            employee.setOrgPath(OrgPath.root(id));
         } else {
             EmployeeManagerModel managerOpt = employeeManagerRepository.findByExistingManagerId(managerId);
-           
-            if (managerOpt != null) {
-                EmployeeManagerModel manager = managerOpt;
-                if ("0".equals(manager.getManagerId())) {
-                    String managerDepartment = manager.getDepartment();
-
-                    if ("Account Manager".equalsIgnoreCase(designation)) {
-                        throw new IllegalArgumentException(
-                                "Designation cannot be Account Manager for an employee with a valid manager ID.");
-                    } else if (!department.equalsIgnoreCase(managerDepartment)) {
-                        throw new IllegalArgumentException(
-                                "Employee's department does not match the manager's department.");
-                    }
-                  }
-            } else {
-                throw new IllegalArgumentException("Manager with ID " + managerId + " does not exist.");
-            }
+            validateReportingLine(managerOpt, managerId, designation, department);
+            employee.setOrgPath(orgPathUnder(managerOpt, id));
         }
 
-        employeeManagerMainRepository.save(employee);
+        try {
+            employeeManagerMainRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw toValidationError(e, employee);
+        }
+        orgHierarchyIndex.employeeAdded(employee);
+        employeeSuggestIndex.employeeAdded(employee);
+        headcountAggregates.employeeAdded(employee);
+        dataVersion.bumpAfterCommit();
         return employee;
     }
 
-    public void validateEmployeeData(String id, String email, String designation, String mobileNumber,
-            String department) throws IllegalArgumentException {
+    // Maps a rejected insert back to the message the old pre-insert lookups gave; anything else is
+    // rethrown for GlobalExceptionHandler. Drivers decorate constraint names, hence the contains()
+    private RuntimeException toValidationError(DataIntegrityViolationException e, EmployeeManagerModel employee) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null ? violation.getConstraintName().toLowerCase() : "";
+        if (constraint.contains(EMAIL_CONSTRAINT)) {
+            return new IllegalArgumentException("Employee with email " + employee.getEmail() + " already exists.");
+        }
+        if (constraint.contains(DEPARTMENT_MANAGER_CONSTRAINT)) {
+            return new IllegalArgumentException("Department " + employee.getDepartment() + " already has a manager.");
+        }
+        if (constraint.contains("primary")) {
+            return new IllegalArgumentException("Employee with id " + employee.getId() + " already exists.");
+        }
+        return e;
+    }
 
-        if (id == null) {
-            throw new IllegalArgumentException("Employee ID cannot be null.");
+    // POST (batch): three set-based lookups for the whole batch, then one batched insert
+    @Transactional
+    public List<BatchEmployeeResultDTO> addEmployees(List<EmployeeManagerModel> employees) {
+        if (employees == null || employees.isEmpty() || employees.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " employees.");
         }
 
-        if (employeeManagerMainRepository.existsById(id)) {
-            throw new IllegalArgumentException("Employee with id " + id + " already exists.");
+        Set<String> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> managerIds = new HashSet<>();
+        Set<String> departments = new HashSet<>();
+        for (EmployeeManagerModel employee : employees) {
+            if (employee.getId() != null) {
+                ids.add(employee.getId());
+            }
+            if (employee.getEmail() != null) {
+                emails.add(employee.getEmail());
+            }
+            if (employee.getManagerId() != null && !"0".equals(employee.getManagerId())) {
+                managerIds.add(employee.getManagerId());
+            }
+            if (employee.getDepartment() != null) {
+                departments.add(employee.getDepartment());
+            }
         }
-        if (!"Account Manager".equalsIgnoreCase(designation) && !"associate".equalsIgnoreCase(designation)) {
-            throw new IllegalArgumentException("Designation can only be Account Manager or associate.");
+
+        Set<String> takenIds = new HashSet<>(employeeManagerRepository.findExistingIds(ids));
+        Set<String> takenEmails = new HashSet<>(employeeManagerRepository.findExistingEmails(emails));
+        Map<String, EmployeeManagerModel> managersById = new HashMap<>();
+        Map<String, EmployeeManagerModel> managersByDepartment = new HashMap<>();
+        for (EmployeeManagerModel manager : employeeManagerRepository.findManagersByIdsOrDepartments(managerIds,
+                departments)) {
+            managersById.put(manager.getId(), manager);
+            if ("0".equals(manager.getManagerId()) && manager.getDepartment() != null) {
+                managersByDepartment.put(manager.getDepartment().toLowerCase(), manager);
+            }
         }
 
-        if (employeeManagerMainRepository.existsByEmail(email)) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BatchEmployeeResultDTO> results = new ArrayList<>();
+        List<EmployeeManagerModel> accepted = new ArrayList<>();
+        for (int index = 0; index < employees.size(); index++) {
+            EmployeeManagerModel employee = employees.get(index);
+            try {
+                validateBatchRow(employee, takenIds, takenEmails, managersById, managersByDepartment);
+                employee.setOrgPath("0".equals(employee.getManagerId()) ? OrgPath.root(employee.getId())
+                        : orgPathUnder(managersById.get(employee.getManagerId()), employee.getId()));
+            } catch (IllegalArgumentException e) {
+                results.add(new BatchEmployeeResultDTO(index, employee.getId(), BatchEmployeeResultDTO.REJECTED,
+                        e.getMessage()));
+                continue;
+            }
+
+            employee.setCreatedTime(now);
+            employee.setUpdatedTime(now);
+
+            // Later rows in the same batch see this one as existing
+            takenIds.add(employee.getId());
+            takenEmails.add(employee.getEmail());
+            if ("0".equals(employee.getManagerId())) {
+                managersById.put(employee.getId(), employee);
+                managersByDepartment.put(employee.getDepartment().toLowerCase(), employee);
+            }
+
+            accepted.add(employee);
+            results.add(new BatchEmployeeResultDTO(index, employee.getId(), BatchEmployeeResultDTO.CREATED,
+                    "Successfully created."));
+        }
+
+        employeeManagerRepository.persistAll(accepted);
+        accepted.forEach(orgHierarchyIndex::employeeAdded);
+        accepted.forEach(employeeSuggestIndex::employeeAdded);
+        accepted.forEach(headcountAggregates::employeeAdded);
+        if (!accepted.isEmpty()) {
+            dataVersion.bumpAfterCommit();
+        }
+        return results;
+    }
+
+    private void validateBatchRow(EmployeeManagerModel employee, Set<String> takenIds, Set<String> takenEmails,
+            Map<String, EmployeeManagerModel> managersById, Map<String, EmployeeManagerModel> managersByDepartment) {
+        String id = employee.getId();
+        String email = employee.getEmail();
+        String designation = employee.getDesignation();
+        String department = employee.getDepartment();
+        String managerId = employee.getManagerId();
+
+        List<String> violations = employeeValidator.validate(id, email, designation, employee.getMobile(),
+                department);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join(" ", violations));
+        }
+        if (takenIds.contains(id)) {
+            throw new IllegalArgumentException("Employee with id " + id + " already exists.");
+        }
+        if (takenEmails.contains(email)) {
             throw new IllegalArgumentException("Employee with email " + email + " already exists.");
         }
 
-        if (!"sales".equalsIgnoreCase(department) &&
-                !"delivery".equalsIgnoreCase(department) &&
-                !"QA".equalsIgnoreCase(department) &&
-                !"engineering".equalsIgnoreCase(department) &&
-                !"BA".equalsIgnoreCase(department)) {
+        if ("0".equals(managerId)) {
+            if (!"Account Manager".equalsIgnoreCase(designation)) {
+                throw new IllegalArgumentException("Designation must be Account Manager for a new manager.");
+            }
+            if (managersByDepartment.containsKey(department.toLowerCase())) {
+                throw new IllegalArgumentException("Department " + department + " already has a manager.");
+            }
+        } else {
+            validateReportingLine(managersById.get(managerId), managerId, designation, department);
+        }
+    }
+
+    // The column length caps how deep a reporting line can go
+    // Experience is counted in whole days: whoever joined by the start of the same date, years back. The
+    // cutoff only moves at midnight, which the dated ETags and response cache keys for year= rely on
+    public static LocalDateTime joinedBy(int years, LocalDate today) {
+        return today.minusYears(years).atStartOfDay();
+    }
+
+    private static String orgPathUnder(EmployeeManagerModel manager, String id) {
+        String orgPath = OrgPath.child(manager.getOrgPath(), id);
+        if (orgPath.length() > OrgPath.MAX_LENGTH) {
+            throw new IllegalArgumentException("Reporting line under " + manager.getId() + " is too deep.");
+        }
+        return orgPath;
+    }
+
+    private void validateReportingLine(EmployeeManagerModel manager, String managerId, String designation,
+            String department) {
+        if (manager == null) {
+            throw new IllegalArgumentException("Manager with ID " + managerId + " does not exist.");
+        }
+        // At every level: a subtree is one department, which changeManager relies on when it moves one
+        if ("Account Manager".equalsIgnoreCase(designation)) {
+            throw new IllegalArgumentException(
+                    "Designation cannot be Account Manager for an employee with a valid manager ID.");
+        } else if (!department.equalsIgnoreCase(manager.getDepartment())) {
             throw new IllegalArgumentException(
-                    "Invalid department. Must be one of: sales, delivery, QA, engineering, BA.");
+                    "Employee's department does not match the manager's department.");
         }
+    }
 
-        if (!isValidEmail(email)) {
-            throw new IllegalArgumentException("Invalid email format.");
+    // A valid manager's reporting line starts at the top-level manager of their own department
+    private boolean isValidManager(EmployeeManagerModel manager) {
+        if ("0".equals(manager.getManagerId())) {
+            return true;
         }
-        if (mobileNumber.length() != 10 || !mobileNumber.matches("\\d+")) {
-            throw new IllegalArgumentException("Invalid mobile number. It must be a 10-digit number.");
+        if (manager.getOrgPath() == null || manager.getDepartment() == null) {
+            return false;
         }
+        EmployeeManagerModel head = employeeManagerMainRepository.findById(OrgPath.headId(manager.getOrgPath()))
+                .orElse(null);
+        return head != null && "0".equals(head.getManagerId())
+                && manager.getDepartment().equalsIgnoreCase(head.getDepartment());
     }
 
-    private void handleEmployeeAsManager(EmployeeManagerModel employee, String department) {
-        EmployeeManagerModel existingManager = employeeManagerRepository.findManagerByDepartment(department);
+    // Full pre-insert check for callers that want an answer without attempting the insert
+    public void validateEmployeeData(String id, String email, String designation, String mobileNumber,
+            String department) throws IllegalArgumentException {
 
-        if (existingManager != null) {
-            throw new IllegalArgumentException("Department " + department + " already has a manager.");
-        } else {
+        // Format checks first and all at once, so bad payloads never pay for the uniqueness round trips
+        List<String> violations = employeeValidator.validate(id, email, designation, mobileNumber, department);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join(" ", violations));
+        }
+
+        if (employeeManagerMainRepository.existsById(id)) {
+            throw new IllegalArgumentException("Employee with id " + id + " already exists.");
+        }
 
+        if (employeeManagerMainRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("Employee with email " + email + " already exists.");
         }
-        
     }
 
     // GET
+    @Transactional(readOnly = true)
     public ResponseDTO managerWithExperience(String managerId, Integer minYearsOfExperience) {
 
         List<ResponseDTO.Details> detailsList = new ArrayList<>();
@@ -143,36 +458,19 @@ public class EmployeeManagerService {
                 throw new IllegalArgumentException("Manager ID and Minimum Years of Experience must be non-negative.");
             }
 
-            EmployeeManagerModel managerOpt = employeeManagerRepository.findByExistingManagerId(managerId);
-            if (managerOpt != null) {
-                LocalDateTime currentDate = LocalDateTime.now();
-                LocalDateTime minJoiningDate = currentDate.minusYears(minYearsOfExperience);
-                EmployeeManagerModel manager = managerOpt;
-                List<EmployeeManagerModel> employeeList = employeeManagerRepository
-                        .getEmployeesByManagerIdAndJoiningDate(managerId, minJoiningDate);
-                List<EmployeeResponseDTO> employees = convertToEmployeeResponseDTO(employeeList);
-
-                ResponseDTO.Details details = new ResponseDTO.Details();
-                details.setAccountManager(manager.getName());
-                details.setDepartment(manager.getDepartment());
-                details.setId(manager.getId());
-                details.setEmployeeList(employees);
-                detailsList.add(details);
-            } else {
-                check = false;
-                throw new IllegalArgumentException("Invalid Manager ID");
-            }
-        } else if (managerId != null) {
-            if (Integer.parseInt(managerId) < 0) {
-                throw new IllegalArgumentException("Invalid Manager ID");
-            }
+            LocalDateTime minJoiningDate = joinedBy(minYearsOfExperience, LocalDate.now());
 
-            EmployeeManagerModel managerOpt = employeeManagerRepository.findByExistingManagerId(managerId);
-            if (managerOpt != null) {
-                EmployeeManagerModel manager = managerOpt;
-                if ("0".equals(manager.getManagerId())) {
-                    List<EmployeeManagerModel> employeeList = employeeManagerRepository.findByManagerId(managerId);
-                    List<EmployeeResponseDTO> employees = convertToEmployeeResponseDTO(employeeList);
+            ResponseDTO.Details cachedDetails = orgHierarchyIndex.isReady()
+                    ? orgHierarchyIndex.getManager(managerId, minJoiningDate)
+                    : null;
+            if (cachedDetails != null) {
+                detailsList.add(cachedDetails);
+            } else {
+                EmployeeManagerModel managerOpt = employeeManagerRepository.findByExistingManagerId(managerId);
+                if (managerOpt != null) {
+                    EmployeeManagerModel manager = managerOpt;
+                    List<EmployeeResponseDTO> employees = employeeManagerRepository
+                            .findEmployeeDTOsByManagerIdAndJoiningDate(managerId, minJoiningDate);
 
                     ResponseDTO.Details details = new ResponseDTO.Details();
                     details.setAccountManager(manager.getName());
@@ -180,42 +478,56 @@ public class EmployeeManagerService {
                     details.setId(manager.getId());
                     details.setEmployeeList(employees);
                     detailsList.add(details);
+                } else {
+                    check = false;
+                    throw new IllegalArgumentException("Invalid Manager ID");
                 }
-            } else {
+            }
+        } else if (managerId != null) {
+            if (Integer.parseInt(managerId) < 0) {
                 throw new IllegalArgumentException("Invalid Manager ID");
             }
+
+            ResponseDTO.Details cachedDetails = orgHierarchyIndex.isReady()
+                    ? orgHierarchyIndex.getManager(managerId, null)
+                    : null;
+            if (cachedDetails != null) {
+                detailsList.add(cachedDetails);
+            } else {
+                EmployeeManagerModel managerOpt = employeeManagerRepository.findByExistingManagerId(managerId);
+                if (managerOpt != null) {
+                    EmployeeManagerModel manager = managerOpt;
+                    if ("0".equals(manager.getManagerId())) {
+                        List<EmployeeResponseDTO> employees = employeeManagerRepository
+                                .findEmployeeDTOsByManagerId(managerId);
+
+                        ResponseDTO.Details details = new ResponseDTO.Details();
+                        details.setAccountManager(manager.getName());
+                        details.setDepartment(manager.getDepartment());
+                        details.setId(manager.getId());
+                        details.setEmployeeList(employees);
+                        detailsList.add(details);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Invalid Manager ID");
+                }
+            }
         } else if (minYearsOfExperience != null) {
             if (minYearsOfExperience < 0) {
                 throw new IllegalArgumentException("Minimum Years of Experience must be non-negative.");
             }
-            LocalDateTime currentDate = LocalDateTime.now();
-            LocalDateTime minJoiningDate = currentDate.minusYears(minYearsOfExperience);
-
-            List<EmployeeManagerModel> allManagers = employeeManagerRepository.findByManagerId("0");
-            for (EmployeeManagerModel manager : allManagers) {
-                List<EmployeeManagerModel> employeeList = employeeManagerRepository
-                        .getEmployeesByManagerIdAndJoiningDate(manager.getId(), minJoiningDate);
-                List<EmployeeResponseDTO> employees = convertToEmployeeResponseDTO(employeeList);
-
-                ResponseDTO.Details details = new ResponseDTO.Details();
-                details.setAccountManager(manager.getName());
-                details.setDepartment(manager.getDepartment());
-                details.setId(manager.getId());
-                details.setEmployeeList(employees);
-                detailsList.add(details);
+            LocalDateTime minJoiningDate = joinedBy(minYearsOfExperience, LocalDate.now());
+
+            if (orgHierarchyIndex.isReady()) {
+                detailsList.addAll(orgHierarchyIndex.getAllManagers(minJoiningDate));
+            } else {
+                detailsList.addAll(employeeManagerRepository.findManagersWithEmployees(minJoiningDate));
             }
         } else {
-            List<EmployeeManagerModel> allManagers = employeeManagerRepository.findByManagerId("0");
-            for (EmployeeManagerModel manager : allManagers) {
-                List<EmployeeManagerModel> employeeList = employeeManagerRepository.findByManagerId(manager.getId());
-                List<EmployeeResponseDTO> employees = convertToEmployeeResponseDTO(employeeList);
-
-                ResponseDTO.Details details = new ResponseDTO.Details();
-                details.setAccountManager(manager.getName());
-                details.setDepartment(manager.getDepartment());
-                details.setId(manager.getId());
-                details.setEmployeeList(employees);
-                detailsList.add(details);
+            if (orgHierarchyIndex.isReady()) {
+                detailsList.addAll(orgHierarchyIndex.getAllManagers(null));
+            } else {
+                detailsList.addAll(employeeManagerRepository.findManagersWithEmployees(null));
             }
         }
 
@@ -232,67 +544,83 @@ public class EmployeeManagerService {
         return responseDTO;
     }
 
-    // PUT
-    @Transactional
+    // PUT; no enclosing transaction so every attempt reads what the previous one lost to. The reads
+    // feed the conditional UPDATE, so they must not come from a lagging replica
     public ManagerChangeResponseDTO changeManager(String empId, String newManagerId) {
-        Optional<EmployeeManagerModel> employeeOpt = employeeManagerMainRepository.findById(empId);
-
-        String name = null;
-        String oldManagerName = null;
-        String newManagerName = null;
+        return ReadReplicaRoutingDataSource.onPrimary(() -> reassignManager(empId, newManagerId));
+    }
 
+    private ManagerChangeResponseDTO reassignManager(String empId, String newManagerId) {
         ManagerChangeResponseDTO responseMessage = new ManagerChangeResponseDTO();
 
-        if (employeeOpt != null) {
+        for (int attempt = 1; attempt <= MAX_CHANGE_MANAGER_ATTEMPTS; attempt++) {
+            Optional<EmployeeManagerModel> employeeOpt = employeeManagerMainRepository.findById(empId);
+            if (employeeOpt.isEmpty()) {
+                responseMessage.setMessage("Cannot find employee with id " + empId + " in the organisation");
+                return responseMessage;
+            }
             EmployeeManagerModel employee = employeeOpt.get();
-
             String oldManagerId = employee.getManagerId();
 
             Optional<EmployeeManagerModel> newManagerOpt = employeeManagerMainRepository.findById(newManagerId);
-            if (newManagerOpt.isPresent()) {
-
-                EmployeeManagerModel newManager = newManagerOpt.get();
-
-                if (!"0".equals(newManager.getManagerId())) { // Changed to String comparison
-                    throw new IllegalArgumentException("New manager must be a valid manager of the department.");
-                }
-
-                if ("0".equals(employee.getManagerId())) { // Changed to String comparison
-                    throw new IllegalArgumentException(
-                            "Employee is already a manager. Cannot assign manager to another manager");
-                }
-
-                Optional<EmployeeManagerModel> oldManagerOpt = employeeManagerMainRepository.findById(oldManagerId);
+            if (newManagerOpt.isEmpty()) {
+                responseMessage.setMessage("Cannot find new Manager with id " + newManagerId + " in the organisation");
+                return responseMessage;
+            }
+            EmployeeManagerModel newManager = newManagerOpt.get();
 
-                EmployeeManagerModel  oldManager = oldManagerOpt.get();
-                oldManagerName = oldManager.getName();
-                name = employee.getName();
-                newManagerName = newManager.getName();
+            if ("0".equals(employee.getManagerId())) { // Changed to String comparison
+                throw new IllegalArgumentException(
+                        "Employee is already a manager. Cannot assign manager to another manager");
+            }
 
-                if (oldManagerId.equals(newManagerId)) {
-                    throw new IllegalArgumentException(
-                            "Employee is currently working under the manager with id " + newManagerId);
-                }
+            if (oldManagerId.equals(newManagerId)) {
+                throw new IllegalArgumentException(
+                        "Employee is currently working under the manager with id " + newManagerId);
+            }
 
-                newManagerName = newManager.getName();
+            // Any employee can take reports, as long as the move does not make a loop
+            if (newManagerId.equals(empId) || OrgPath.isWithin(newManager.getOrgPath(), employee.getOrgPath())) {
+                throw new IllegalArgumentException("Cannot move an employee under themselves or one of their reports.");
+            }
 
+            EmployeeManagerModel oldManager = employeeManagerMainRepository.findById(oldManagerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Current manager with id " + oldManagerId
+                            + " of employee " + empId + " does not exist."));
+
+            // Everyone below the employee moves with them and takes the new department; headcounts
+            // need to know who they are when that department differs
+            String oldDepartment = employee.getDepartment();
+            List<OrgNodeDTO> movedReports = headcountAggregates.isReady()
+                    && !Objects.equals(oldDepartment, newManager.getDepartment())
+                            ? employeeManagerRepository.findSubtree(employee.getOrgPath())
+                            : List.of();
+
+            // The UPDATE re-checks the rules above against the row itself, and is the only place that checks
+            // the new manager's line is headed by their department's top-level manager. It copies the
+            // department, so a concurrent change makes it match nothing instead of being overwritten
+            LocalDateTime updatedTime = LocalDateTime.now();
+            if (employeeManagerRepository.reassignManager(employee, newManagerId, updatedTime)) {
                 employee.setManagerId(newManagerId);
                 employee.setDepartment(newManager.getDepartment());
-                employee.setUpdatedTime(LocalDateTime.now());
-                employeeManagerMainRepository.save(employee);
-
-                name = employee.getName();
-
-                responseMessage.setMessage(name + "'s manager has been succesfully changed from " + oldManagerName
-                        + " to " + newManagerName);
-            } else {
-                responseMessage.setMessage("Cannot find new Manager with id " + newManagerId + " in the organisation");
+                employee.setUpdatedTime(updatedTime);
+                orgHierarchyIndex.managerChanged(employee, oldManagerId);
+                headcountAggregates.managerChanged(employee, oldManagerId, oldDepartment);
+                headcountAggregates.reportsMoved(movedReports, oldDepartment, employee.getDepartment());
+                dataVersion.bumpAfterCommit();
+
+                responseMessage.setMessage(employee.getName() + "'s manager has been succesfully changed from "
+                        + oldManager.getName() + " to " + newManager.getName());
+                return responseMessage;
+            }
+            // Matching nothing is either a lost race, worth another attempt, or a manager the UPDATE refuses
+            if (!isValidManager(newManager)) {
+                throw new IllegalArgumentException("New manager must be a valid manager of the department.");
             }
-        } else {
-            responseMessage.setMessage("Cannot find employee with id " + empId + " in the organisation");
         }
 
-        return responseMessage;
+        throw new OptimisticLockException("Employee with id " + empId
+                + " was changed by another request while reassigning the manager. Please retry.");
     }
 
     // DELETE
@@ -306,14 +634,17 @@ public class EmployeeManagerService {
             String managerId = employee.getManagerId();
             name = employee.getName();
 
-            if ("0".equals(managerId)) {
-                List<EmployeeManagerModel> employeesUnderManager = employeeManagerRepository.findByManagerId(id);
-                if (!employeesUnderManager.isEmpty()) {
-                    throw new IllegalArgumentException("Cannot delete employee as they have employees to manage.");
-                }
+            // Reports at any level would be left without a manager
+            List<EmployeeManagerModel> employeesUnderManager = employeeManagerRepository.findByManagerId(id);
+            if (!employeesUnderManager.isEmpty()) {
+                throw new IllegalArgumentException("Cannot delete employee as they have employees to manage.");
             }
 
             employeeManagerMainRepository.deleteById(id);
+            orgHierarchyIndex.employeeDeleted(id, managerId);
+            employeeSuggestIndex.employeeDeleted(id);
+            headcountAggregates.employeeDeleted(employee);
+            dataVersion.bumpAfterCommit();
             responseMessage.setMessage("Successfully deleted " + name + " from the organization.");
         } else {
             responseMessage.setMessage("Cannot find employee with ID " + id + " in the organization.");
@@ -322,12 +653,17 @@ public class EmployeeManagerService {
         return responseMessage;
     }
 
-    // Helper method to check if email format is valid
-    private boolean isValidEmail(String email) {
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-        Pattern pattern = Pattern.compile(emailRegex);
-        Matcher matcher = pattern.matcher(email);
-        return matcher.matches();
+    // Cursors are opaque to clients; they carry the last id of the previous page
+    private String encodeCursor(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
     }
 
     public List<EmployeeResponseDTO> convertToEmployeeResponseDTO(List<EmployeeManagerModel> employeeList) {
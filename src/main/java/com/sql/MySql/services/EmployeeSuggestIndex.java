@@ -0,0 +1,211 @@
+package com.sql.MySql.services;
+
+import com.sql.MySql.helpers.SearchText;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Typeahead over employee names and emails. The name, each of its words and the email are stored
+ * case- and accent-folded in one sorted map, so a prefix lookup is a range scan that stops after
+ * limit matches. Only id, name and email are kept per employee. Built at startup and updated
+ * after add and delete commits. Above max-employees the index is off and lookups fall back to
+ * SQL, as they do with employee.suggest.enabled=false. A periodic check reloads it on drift and
+ * turns it back on once the table fits again. A reload builds new maps off to the side and swaps
+ * them in, so a lookup running meanwhile sees either the old index or the new one; see
+ * {@link CommittedChanges} for how a reload and concurrent writes are kept apart.
+ */
+@Component
+public class EmployeeSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSuggestIndex.class);
+
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[" + Pattern.quote(SearchText.WORD_SEPARATORS) + "]+");
+
+    // Sorts before every term character, so "ann" keys come ahead of "anna" keys
+    private static final char TERM_END = '\u0000';
+
+    @Autowired
+    private EmployeeManagerCustomRepository employeeManagerRepository;
+
+    @Value("${employee.suggest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.suggest.max-employees:250000}")
+    private int maxEmployees;
+
+    private volatile Entries entries = new Entries();
+
+    private volatile boolean ready;
+
+    private final CommittedChanges changes = new CommittedChanges("Typeahead index", () -> enabled, () -> ready);
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        changes.withSnapshot(this::load, loaded -> {
+            replaceWith(loaded);
+            return true;
+        });
+    }
+
+    // Compares the index with the table and reloads it on any difference; also where an index that
+    // went over max-employees comes back once the table is small enough again
+    @Scheduled(fixedDelayString = "${employee.suggest.verify-interval-ms:300000}",
+            initialDelayString = "${employee.suggest.verify-interval-ms:300000}")
+    public synchronized boolean verifyAgainstDatabase() {
+        if (!enabled) {
+            return true;
+        }
+        return changes.withSnapshot(this::load, loaded -> {
+            boolean consistent = loaded == null ? !ready : ready && sameAs(loaded);
+            if (!consistent) {
+                if (ready) {
+                    log.warn("Typeahead index drifted from the database; reloading");
+                }
+                replaceWith(loaded);
+            }
+            return consistent;
+        });
+    }
+
+    // Counts first, so a table over the limit is never read in full; null stands for a table over max-employees
+    private List<EmployeeSuggestionDTO> load() {
+        long employees = employeeManagerRepository.countEmployees();
+        if (employees > maxEmployees) {
+            log.warn("{} employees exceed employee.suggest.max-employees={}; typeahead falls back to SQL",
+                    employees, maxEmployees);
+            return null;
+        }
+        List<EmployeeSuggestionDTO> loaded = employeeManagerRepository.findAllSuggestions();
+        return loaded.size() > maxEmployees ? null : loaded;
+    }
+
+    private void replaceWith(List<EmployeeSuggestionDTO> loaded) {
+        Entries replacement = new Entries();
+        if (loaded != null) {
+            loaded.forEach(replacement::put);
+        }
+        entries = replacement;
+        ready = loaded != null;
+    }
+
+    private boolean sameAs(List<EmployeeSuggestionDTO> loaded) {
+        Map<String, EmployeeSuggestionDTO> byId = entries.byId;
+        if (loaded.size() != byId.size()) {
+            return false;
+        }
+        for (EmployeeSuggestionDTO suggestion : loaded) {
+            EmployeeSuggestionDTO indexed = byId.get(suggestion.getId());
+            if (indexed == null || !Objects.equals(indexed.getName(), suggestion.getName())
+                    || !Objects.equals(indexed.getEmail(), suggestion.getEmail())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<EmployeeSuggestionDTO> suggest(String query, int limit) {
+        String prefix = fold(query);
+        Map<String, EmployeeSuggestionDTO> matches = new LinkedHashMap<>();
+        // Every key starting with the prefix sorts between the prefix and prefix + Character.MAX_VALUE
+        for (EmployeeSuggestionDTO suggestion : entries.terms.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            matches.putIfAbsent(suggestion.getId(), suggestion);
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    public void employeeAdded(EmployeeManagerModel employee) {
+        EmployeeSuggestionDTO suggestion = toSuggestion(employee);
+        changes.afterCommit(() -> {
+            if (entries.byId.size() >= maxEmployees) {
+                log.warn("Typeahead index reached employee.suggest.max-employees={}; falling back to SQL", maxEmployees);
+                replaceWith(null);
+                return;
+            }
+            entries.put(suggestion);
+        });
+    }
+
+    public void employeeDeleted(String employeeId) {
+        changes.afterCommit(() -> entries.remove(employeeId));
+    }
+
+    // Lower case without accents, so "Zoë" and "ZOE" find each other
+    public static String fold(String text) {
+        return SearchText.fold(text);
+    }
+
+    private static List<String> keys(EmployeeSuggestionDTO suggestion) {
+        List<String> keys = new ArrayList<>();
+        if (suggestion.getName() != null) {
+            String name = fold(suggestion.getName());
+            // The whole name for queries that run past the first word, then each word on its own
+            keys.add(name + TERM_END + suggestion.getId());
+            String[] words = WORD_SEPARATORS.split(name);
+            for (int i = 1; i < words.length; i++) {
+                if (!words[i].isEmpty()) {
+                    keys.add(words[i] + TERM_END + suggestion.getId());
+                }
+            }
+        }
+        if (suggestion.getEmail() != null) {
+            keys.add(fold(suggestion.getEmail()) + TERM_END + suggestion.getId());
+        }
+        return keys;
+    }
+
+    private static EmployeeSuggestionDTO toSuggestion(EmployeeManagerModel employee) {
+        return new EmployeeSuggestionDTO(employee.getId(), employee.getName(), employee.getEmail());
+    }
+
+    // The two maps of one index generation, swapped together on reload
+    private static final class Entries {
+        // "<folded term>\0<id>" -> suggestion; the id suffix keeps employees sharing a term apart
+        private final ConcurrentSkipListMap<String, EmployeeSuggestionDTO> terms = new ConcurrentSkipListMap<>();
+
+        private final Map<String, EmployeeSuggestionDTO> byId = new ConcurrentHashMap<>();
+
+        private void put(EmployeeSuggestionDTO suggestion) {
+            EmployeeSuggestionDTO previous = byId.put(suggestion.getId(), suggestion);
+            if (previous != null) {
+                keys(previous).forEach(terms::remove);
+            }
+            keys(suggestion).forEach(key -> terms.put(key, suggestion));
+        }
+
+        private void remove(String employeeId) {
+            EmployeeSuggestionDTO removed = byId.remove(employeeId);
+            if (removed != null) {
+                keys(removed).forEach(terms::remove);
+            }
+        }
+    }
+}
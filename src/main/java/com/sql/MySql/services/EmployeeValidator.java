@@ -0,0 +1,89 @@
+package com.sql.MySql.services;
+
+import com.sql.MySql.helpers.OrgPath;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Syntactic checks for new employees. Everything here is in-memory, so callers run it
+ * before any uniqueness probe against the database and report every violation at once.
+ */
+@Component
+public class EmployeeValidator {
+
+    private static final Pattern EMAIL_PATTERN = Pattern
+            .compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    // Case-insensitive lookups without lower-casing (and allocating) the input
+    private static final Set<String> DESIGNATIONS = caseInsensitiveSet("Account Manager", "associate");
+    private static final Set<String> DEPARTMENTS = caseInsensitiveSet("sales", "delivery", "QA", "engineering", "BA");
+
+    public List<String> validate(String id, String email, String designation, String mobileNumber,
+            String department) {
+        List<String> violations = Collections.emptyList();
+
+        if (id == null) {
+            violations = add(violations, "Employee ID cannot be null.");
+        } else if (id.indexOf(OrgPath.SEPARATOR) >= 0) {
+            // The id becomes a segment of the reporting-line path
+            violations = add(violations, "Employee ID cannot contain '/'.");
+        }
+        if (!isValidDesignation(designation)) {
+            violations = add(violations, "Designation can only be Account Manager or associate.");
+        }
+        if (!isValidDepartment(department)) {
+            violations = add(violations, "Invalid department. Must be one of: sales, delivery, QA, engineering, BA.");
+        }
+        if (!isValidEmail(email)) {
+            violations = add(violations, "Invalid email format.");
+        }
+        if (!isValidMobile(mobileNumber)) {
+            violations = add(violations, "Invalid mobile number. It must be a 10-digit number.");
+        }
+        return violations;
+    }
+
+    public boolean isValidDesignation(String designation) {
+        return designation != null && DESIGNATIONS.contains(designation);
+    }
+
+    public boolean isValidDepartment(String department) {
+        return department != null && DEPARTMENTS.contains(department);
+    }
+
+    public boolean isValidEmail(String email) {
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    public boolean isValidMobile(String mobileNumber) {
+        if (mobileNumber == null || mobileNumber.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < mobileNumber.length(); i++) {
+            char c = mobileNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The valid payload is the common case, so the list is only allocated on the first violation
+    private static List<String> add(List<String> violations, String violation) {
+        List<String> result = violations.isEmpty() ? new ArrayList<>(5) : violations;
+        result.add(violation);
+        return result;
+    }
+
+    private static Set<String> caseInsensitiveSet(String... values) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Collections.addAll(set, values);
+        return Collections.unmodifiableSet(set);
+    }
+}
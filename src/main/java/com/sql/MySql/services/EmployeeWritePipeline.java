@@ -0,0 +1,252 @@
+package com.sql.MySql.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.BatchEmployeeResultDTO;
+import com.sql.MySql.response.WriteStatusDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional group-commit path for POST /api/newEmployee. Requests are format-checked and queued;
+ * one writer thread takes up to flush-size of them, or whatever arrived within flush-interval-ms,
+ * and commits them together through {@link EmployeeManagerService#addEmployees}. Outcomes are
+ * kept for status lookups by tracking id, for status-retention-minutes and at most
+ * status-max-entries of them. A full queue is refused rather than grown.
+ */
+@Component
+public class EmployeeWritePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWritePipeline.class);
+
+    @Autowired
+    private EmployeeManagerService employeeService;
+
+    @Autowired
+    private EmployeeValidator employeeValidator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.write-pipeline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${employee.write-pipeline.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${employee.write-pipeline.flush-size:200}")
+    private int flushSize;
+
+    @Value("${employee.write-pipeline.flush-interval-ms:20}")
+    private long flushIntervalMs;
+
+    @Value("${employee.write-pipeline.status-retention-minutes:60}")
+    private long statusRetentionMinutes;
+
+    @Value("${employee.write-pipeline.status-max-entries:100000}")
+    private long statusMaxEntries;
+
+    private BlockingQueue<PendingWrite> queue;
+
+    private Cache<String, WriteStatusDTO> statuses;
+
+    private Timer commitTimer;
+
+    private DistributionSummary groupSize;
+
+    private Counter rejectedWhenFull;
+
+    private Thread writer;
+
+    // Held while checking running and offering, and while stop() clears it, so nothing is queued after
+    // the writer may have seen the queue empty for the last time
+    private final Object submitLock = new Object();
+
+    private volatile boolean running;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // addEmployees refuses larger batches
+        flushSize = Math.min(Math.max(flushSize, 1), EmployeeManagerService.MAX_BATCH_SIZE);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        statuses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(statusRetentionMinutes))
+                .maximumSize(statusMaxEntries)
+                .build();
+
+        Gauge.builder("employee.write.queue.depth", queue, BlockingQueue::size)
+                .description("Employees accepted but not yet committed")
+                .register(meterRegistry);
+        commitTimer = Timer.builder("employee.write.commit")
+                .description("Time to commit one group of queued employees")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        groupSize = DistributionSummary.builder("employee.write.group.size")
+                .description("Employees committed per transaction")
+                .register(meterRegistry);
+        rejectedWhenFull = Counter.builder("employee.write.queue.rejected")
+                .description("Requests refused with 429 because the queue was full")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::drain, "employee-write-pipeline");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Stops taking new work but commits everything already accepted
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        synchronized (submitLock) {
+            running = false;
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public WriteStatusDTO submit(EmployeeManagerModel employee) {
+        List<String> violations = employeeValidator.validate(employee.getId(), employee.getEmail(),
+                employee.getDesignation(), employee.getMobile(), employee.getDepartment());
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join(" ", violations));
+        }
+
+        WriteStatusDTO status = new WriteStatusDTO(UUID.randomUUID().toString(), employee.getId(),
+                WriteStatusDTO.PENDING, null);
+        statuses.put(status.getTrackingId(), status);
+        synchronized (submitLock) {
+            if (!running) {
+                statuses.invalidate(status.getTrackingId());
+                throw new WritePipelineStoppedException("Employee writes are not being accepted while shutting down.");
+            }
+            if (!queue.offer(new PendingWrite(status.getTrackingId(), employee))) {
+                statuses.invalidate(status.getTrackingId());
+                rejectedWhenFull.increment();
+                throw new WriteQueueFullException("Too many pending employee writes. Retry shortly.");
+            }
+        }
+        return status;
+    }
+
+    public WriteStatusDTO getStatus(String trackingId) {
+        return statuses != null ? statuses.getIfPresent(trackingId) : null;
+    }
+
+    private void drain() {
+        List<PendingWrite> group = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                // Give a burst up to one flush interval to fill the group
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (group.size() < flushSize) {
+                    PendingWrite next = queue.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Employee write pipeline failed to commit {} employees", group.size(), e);
+                group.forEach(write -> complete(write, BatchEmployeeResultDTO.REJECTED, e.getMessage()));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> group) {
+        List<EmployeeManagerModel> employees = new ArrayList<>(group.size());
+        group.forEach(write -> employees.add(write.employee));
+
+        long start = System.nanoTime();
+        try {
+            List<BatchEmployeeResultDTO> results = employeeService.addEmployees(employees);
+            for (BatchEmployeeResultDTO result : results) {
+                complete(group.get(result.getIndex()), result.getStatus(), result.getMessage());
+            }
+        } catch (RuntimeException e) {
+            // One row the set-based checks could not catch (e.g. a concurrent insert) fails the whole
+            // transaction; commit the group row by row so only that row is rejected. The rolled-back
+            // attempt left a version on each entity, so every retry starts from a fresh copy
+            log.warn("Group commit of {} employees failed, retrying one by one: {}", group.size(), e.getMessage());
+            for (PendingWrite write : group) {
+                try {
+                    employeeService.addEmployee(copyOfRequest(write.employee));
+                    complete(write, BatchEmployeeResultDTO.CREATED, "Successfully created.");
+                } catch (RuntimeException rowFailure) {
+                    complete(write, BatchEmployeeResultDTO.REJECTED, rowFailure.getMessage());
+                }
+            }
+        } finally {
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            groupSize.record(group.size());
+        }
+    }
+
+    // Only what the client sent; everything else is filled in again by addEmployee
+    private static EmployeeManagerModel copyOfRequest(EmployeeManagerModel employee) {
+        EmployeeManagerModel copy = new EmployeeManagerModel();
+        copy.setId(employee.getId());
+        copy.setName(employee.getName());
+        copy.setDesignation(employee.getDesignation());
+        copy.setEmail(employee.getEmail());
+        copy.setDepartment(employee.getDepartment());
+        copy.setMobile(employee.getMobile());
+        copy.setLocation(employee.getLocation());
+        copy.setManagerId(employee.getManagerId());
+        copy.setDateOfJoining(employee.getDateOfJoining());
+        return copy;
+    }
+
+    private void complete(PendingWrite write, String status, String message) {
+        statuses.put(write.trackingId, new WriteStatusDTO(write.trackingId, write.employee.getId(), status, message));
+    }
+
+    private static final class PendingWrite {
+        private final String trackingId;
+        private final EmployeeManagerModel employee;
+
+        private PendingWrite(String trackingId, EmployeeManagerModel employee) {
+            this.trackingId = trackingId;
+            this.employee = employee;
+        }
+    }
+}
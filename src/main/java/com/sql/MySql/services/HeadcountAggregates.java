@@ -0,0 +1,201 @@
+package com.sql.MySql.services;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.models.TenureBand;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.response.HeadcountDTO;
+import com.sql.MySql.response.OrgNodeDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Headcounts per (department, managerId, joining date), loaded once with a GROUP BY and then moved
+ * by +1/-1 after each add, manager change and delete commits. Tenure bands shift with the clock,
+ * so they are not stored: the joining dates are folded into bands once per day and per change, and
+ * that summary is served until either moves on. A periodic check compares the counts with the same
+ * GROUP BY and reloads them on any difference; see {@link CommittedChanges} for how a reload and
+ * concurrent writes are kept apart.
+ */
+@Component
+public class HeadcountAggregates {
+
+    private static final Logger log = LoggerFactory.getLogger(HeadcountAggregates.class);
+
+    private static final Comparator<HeadcountDTO.Group> GROUP_ORDER = Comparator
+            .comparing(HeadcountDTO.Group::getDepartment, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(HeadcountDTO.Group::getManagerId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(HeadcountDTO.Group::getTenure);
+
+    @Autowired
+    private EmployeeManagerCustomRepository employeeManagerRepository;
+
+    @Value("${employee.headcount.enabled:true}")
+    private boolean enabled;
+
+    // Cells that drop to zero are removed, so the map only holds non-empty groups. Replaced as a whole
+    // on reload, so readers never see it half filled
+    private volatile Map<Cell, Long> counts = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    private final CommittedChanges changes = new CommittedChanges("Headcount aggregates", () -> enabled, () -> ready);
+
+    // Last summary handed out, with the generation it was folded from
+    private volatile Folded folded;
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        changes.withSnapshot(this::load, loaded -> {
+            replaceWith(loaded);
+            return true;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${employee.headcount.verify-interval-ms:300000}",
+            initialDelayString = "${employee.headcount.verify-interval-ms:300000}")
+    public synchronized boolean verifyAgainstDatabase() {
+        if (!enabled) {
+            return true;
+        }
+        return changes.withSnapshot(this::load, loaded -> {
+            boolean consistent = ready && loaded.equals(counts);
+            if (!consistent) {
+                if (ready) {
+                    log.warn("Headcount aggregates drifted from the database; reloading");
+                }
+                replaceWith(loaded);
+            }
+            return consistent;
+        });
+    }
+
+    // Folded again only after a change or when the date moves on; callers must not modify the result
+    public HeadcountDTO getHeadcount(LocalDate today) {
+        long current = changes.generation();
+        Folded last = folded;
+        if (last != null && last.generation() == current && last.headcount().getAsOf().equals(today)) {
+            return last.headcount();
+        }
+        HeadcountDTO headcount = summarize(counts, today);
+        folded = new Folded(current, headcount);
+        return headcount;
+    }
+
+    // Same summary straight from the GROUP BY, for when the aggregates are off
+    public HeadcountDTO getHeadcountFromDatabase(LocalDate today) {
+        return summarize(load(), today);
+    }
+
+    public void employeeAdded(EmployeeManagerModel employee) {
+        Cell cell = cellOf(employee, employee.getDepartment(), employee.getManagerId());
+        changes.afterCommit(() -> add(cell, 1));
+    }
+
+    // The employee already carries the new manager and department
+    public void managerChanged(EmployeeManagerModel employee, String oldManagerId, String oldDepartment) {
+        Cell from = cellOf(employee, oldDepartment, oldManagerId);
+        Cell to = cellOf(employee, employee.getDepartment(), employee.getManagerId());
+        changes.afterCommit(() -> {
+            add(from, -1);
+            add(to, 1);
+        });
+    }
+
+    // Reports below a moved employee keep their manager but follow the employee into the new department
+    public void reportsMoved(List<OrgNodeDTO> reports, String oldDepartment, String newDepartment) {
+        if (reports.isEmpty() || Objects.equals(oldDepartment, newDepartment)) {
+            return;
+        }
+        List<Cell> from = new ArrayList<>(reports.size());
+        List<Cell> to = new ArrayList<>(reports.size());
+        for (OrgNodeDTO report : reports) {
+            LocalDate joined = report.getDateOfJoining() != null ? report.getDateOfJoining().toLocalDate() : null;
+            from.add(new Cell(oldDepartment, report.getManagerId(), joined));
+            to.add(new Cell(newDepartment, report.getManagerId(), joined));
+        }
+        changes.afterCommit(() -> {
+            from.forEach(cell -> add(cell, -1));
+            to.forEach(cell -> add(cell, 1));
+        });
+    }
+
+    public void employeeDeleted(EmployeeManagerModel employee) {
+        Cell cell = cellOf(employee, employee.getDepartment(), employee.getManagerId());
+        changes.afterCommit(() -> add(cell, -1));
+    }
+
+    private void add(Cell cell, long delta) {
+        counts.merge(cell, delta, (current, change) -> current + change == 0 ? null : current + change);
+    }
+
+    private void replaceWith(Map<Cell, Long> loaded) {
+        counts = loaded;
+        ready = true;
+    }
+
+    private Map<Cell, Long> load() {
+        Map<Cell, Long> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : employeeManagerRepository.countByDepartmentManagerAndJoiningDate()) {
+            loaded.put(new Cell((String) row[0], (String) row[1], (LocalDate) row[2]), (Long) row[3]);
+        }
+        return loaded;
+    }
+
+    private static HeadcountDTO summarize(Map<Cell, Long> cells, LocalDate today) {
+        Map<GroupKey, Long> grouped = new HashMap<>();
+        long total = 0;
+        for (Map.Entry<Cell, Long> entry : cells.entrySet()) {
+            Cell cell = entry.getKey();
+            grouped.merge(new GroupKey(cell.department(), cell.managerId(), TenureBand.of(cell.joined(), today)),
+                    entry.getValue(), Long::sum);
+            total += entry.getValue();
+        }
+        List<HeadcountDTO.Group> groups = new ArrayList<>(grouped.size());
+        grouped.forEach((key, count) -> groups.add(
+                new HeadcountDTO.Group(key.department(), key.managerId(), key.tenure(), count)));
+        groups.sort(GROUP_ORDER);
+        return new HeadcountDTO(today, total, groups);
+    }
+
+    private static Cell cellOf(EmployeeManagerModel employee, String department, String managerId) {
+        return new Cell(department, managerId,
+                employee.getDateOfJoining() != null ? employee.getDateOfJoining().toLocalDate() : null);
+    }
+
+    // Lower case, like the GROUP BY, so "Sales" and "sales" share a cell
+    private record Cell(String department, String managerId, LocalDate joined) {
+        private Cell {
+            department = department != null ? department.toLowerCase(Locale.ROOT) : null;
+        }
+    }
+
+    private record Folded(long generation, HeadcountDTO headcount) {
+    }
+
+    private record GroupKey(String department, String managerId, TenureBand tenure) {
+    }
+}
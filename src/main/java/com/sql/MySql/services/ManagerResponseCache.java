@@ -0,0 +1,140 @@
+package com.sql.MySql.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sql.MySql.config.ReadReplicaRoutingDataSource;
+import com.sql.MySql.response.ResponseDTO;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Finished /api/managerWithYear bodies as UTF-8 JSON bytes (and gzip bytes for larger ones), keyed
+ * by (managerId, year) and the {@link EmployeeDataVersion} they were built from. Every write moves
+ * the version, which drops all entries: the all-managers body depends on every row. Experience
+ * filters move at midnight, so year= keys carry the date as well; entries also expire after
+ * ttl-seconds. Bounded by the
+ * bytes held, with hits, misses and evictions under cache.* (cache=managerWithYear). Misses are
+ * built on the primary: a lagging replica would otherwise file an old body under the new version.
+ */
+@Component
+public class ManagerResponseCache {
+
+    public static final String CACHE_NAME = "managerWithYear";
+
+    @Autowired
+    private EmployeeManagerService employeeService;
+
+    @Autowired
+    private EmployeeDataVersion dataVersion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.response-cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    @Value("${employee.response-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${employee.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private Cache<Key, Body> bodies;
+
+    private volatile long cachedVersion;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        bodies = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Body body) -> body.weight())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        cachedVersion = dataVersion.current();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, CACHE_NAME);
+        Gauge.builder("employee.response.cache.hit.ratio", bodies, cache -> cache.stats().hitRate())
+                .description("Share of managerWithYear requests served from cached bytes")
+                .register(meterRegistry);
+        Gauge.builder("employee.response.cache.bytes", bodies,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("JSON and gzip bytes held for managerWithYear")
+                .register(meterRegistry);
+    }
+
+    // Null when the service has nothing for the request (the 404 case); that is not cached
+    public Body get(String managerId, Integer year) {
+        long version = dataVersion.current();
+        if (version != cachedVersion) {
+            // Entries of older versions can never be hit again; free their bytes now
+            cachedVersion = version;
+            bodies.invalidateAll();
+        }
+        LocalDate day = year != null ? LocalDate.now() : null;
+        return bodies.get(new Key(managerId, year, day, version), key -> build(managerId, year));
+    }
+
+    private Body build(String managerId, Integer year) {
+        ResponseDTO response = ReadReplicaRoutingDataSource.onPrimary(
+                () -> employeeService.managerWithExperience(managerId, year));
+        if (response == null) {
+            return null;
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Body(json, json.length >= gzipMinBytes ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(String managerId, Integer year, LocalDate day, long version) {
+    }
+
+    public record Body(byte[] json, byte[] gzip) {
+
+        private int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.sql.MySql.services;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.ResponseDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process copy of what the manager report serves: top-level manager id -> direct reports sorted
+ * by dateOfJoining. Deeper levels of the hierarchy are not kept here. Experience filters become a
+ * binary search over the sorted reports. Updates are applied only after the writing transaction
+ * commits, and a periodic check rebuilds the index if it ever drifts from the database (or builds
+ * it, if writes kept overtaking the startup load; see {@link CommittedChanges}). Set
+ * employee.hierarchy-cache.enabled=false to serve every request from SQL instead.
+ */
+@Component
+public class OrgHierarchyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OrgHierarchyIndex.class);
+
+    // Reports without a joining date never match an experience filter, so they sort last
+    private static final Comparator<EmployeeResponseDTO> BY_JOINING_DATE = Comparator
+            .comparing(EmployeeResponseDTO::getDateOfJoining, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(EmployeeResponseDTO::getId);
+
+    @Autowired
+    private EmployeeManagerCustomRepository employeeManagerRepository;
+
+    @Value("${employee.hierarchy-cache.enabled:true}")
+    private boolean enabled;
+
+    // The startup load reads the whole table, so it does not share the report endpoint's timeout; 0 is none
+    @Value("${employee.hierarchy-cache.load-timeout-ms:0}")
+    private int loadTimeoutMs;
+
+    // Replaced as a whole on reload, so readers never see it half filled
+    private volatile ConcurrentSkipListMap<String, ManagerEntry> managers = new ConcurrentSkipListMap<>();
+
+    private volatile boolean ready;
+
+    private final CommittedChanges changes = new CommittedChanges("Org hierarchy index", () -> enabled, () -> ready);
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        changes.withSnapshot(this::load, loaded -> {
+            replaceWith(loaded);
+            return true;
+        });
+    }
+
+    // Compares the index with a fresh read of the database and rebuilds it on any difference
+    @Scheduled(fixedDelayString = "${employee.hierarchy-cache.verify-interval-ms:300000}",
+            initialDelayString = "${employee.hierarchy-cache.verify-interval-ms:300000}")
+    public synchronized boolean verifyAgainstDatabase() {
+        if (!enabled) {
+            return true;
+        }
+        return changes.withSnapshot(this::load, loaded -> {
+            Map<String, ManagerEntry> current = managers;
+            boolean consistent = ready && loaded.keySet().equals(current.keySet()) && loaded.entrySet().stream()
+                    .allMatch(entry -> entry.getValue().sameAs(current.get(entry.getKey())));
+            if (!consistent) {
+                if (ready) {
+                    log.warn("Org hierarchy index drifted from the database; rebuilding");
+                }
+                replaceWith(loaded);
+            }
+            return consistent;
+        });
+    }
+
+    private void replaceWith(ConcurrentSkipListMap<String, ManagerEntry> loaded) {
+        managers = loaded;
+        ready = true;
+    }
+
+    public ResponseDTO.Details getManager(String managerId, LocalDateTime minJoiningDate) {
+        ManagerEntry entry = managers.get(managerId);
+        return entry != null ? entry.toDetails(minJoiningDate) : null;
+    }
+
+    public List<ResponseDTO.Details> getAllManagers(LocalDateTime minJoiningDate) {
+        List<ResponseDTO.Details> detailsList = new ArrayList<>();
+        for (ManagerEntry entry : managers.values()) {
+            detailsList.add(entry.toDetails(minJoiningDate));
+        }
+        return detailsList;
+    }
+
+    public void employeeAdded(EmployeeManagerModel employee) {
+        EmployeeResponseDTO dto = toDTO(employee);
+        String managerId = employee.getManagerId();
+        changes.afterCommit(() -> {
+            if ("0".equals(managerId)) {
+                managers.putIfAbsent(dto.getId(), new ManagerEntry(dto.getId(), dto.getName(), dto.getDepartment(),
+                        new EmployeeResponseDTO[0]));
+            } else {
+                managers.computeIfPresent(managerId, (id, entry) -> entry.withReport(dto));
+            }
+        });
+    }
+
+    public void managerChanged(EmployeeManagerModel employee, String oldManagerId) {
+        EmployeeResponseDTO dto = toDTO(employee);
+        String newManagerId = employee.getManagerId();
+        changes.afterCommit(() -> {
+            managers.computeIfPresent(oldManagerId, (id, entry) -> entry.withoutReport(dto.getId()));
+            managers.computeIfPresent(newManagerId, (id, entry) -> entry.withReport(dto));
+        });
+    }
+
+    public void employeeDeleted(String employeeId, String managerId) {
+        changes.afterCommit(() -> {
+            if ("0".equals(managerId)) {
+                managers.remove(employeeId);
+            } else {
+                managers.computeIfPresent(managerId, (id, entry) -> entry.withoutReport(employeeId));
+            }
+        });
+    }
+
+    private ConcurrentSkipListMap<String, ManagerEntry> load() {
+        ConcurrentSkipListMap<String, ManagerEntry> loaded = new ConcurrentSkipListMap<>();
+        for (ResponseDTO.Details details : employeeManagerRepository.findManagersWithEmployees(null, loadTimeoutMs)) {
+            EmployeeResponseDTO[] reports = details.getEmployeeList().toArray(new EmployeeResponseDTO[0]);
+            Arrays.sort(reports, BY_JOINING_DATE);
+            loaded.put(details.getId(),
+                    new ManagerEntry(details.getId(), details.getAccountManager(), details.getDepartment(), reports));
+        }
+        return loaded;
+    }
+
+    // Times are cut to the DATETIME(6) columns, so a report written here compares equal to one loaded back
+    private static EmployeeResponseDTO toDTO(EmployeeManagerModel employee) {
+        return new EmployeeResponseDTO(employee.getId(), employee.getName(), employee.getDesignation(),
+                employee.getEmail(), employee.getDepartment(), employee.getMobile(), employee.getLocation(),
+                toColumn(employee.getDateOfJoining()), toColumn(employee.getCreatedTime()),
+                toColumn(employee.getUpdatedTime()));
+    }
+
+    private static LocalDateTime toColumn(LocalDateTime time) {
+        return time != null ? time.truncatedTo(ChronoUnit.MICROS) : null;
+    }
+
+    private static boolean sameReport(EmployeeResponseDTO a, EmployeeResponseDTO b) {
+        return Objects.equals(a.getId(), b.getId()) && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getDesignation(), b.getDesignation()) && Objects.equals(a.getEmail(), b.getEmail())
+                && Objects.equals(a.getDepartment(), b.getDepartment()) && Objects.equals(a.getMobile(), b.getMobile())
+                && Objects.equals(a.getLocation(), b.getLocation())
+                && Objects.equals(a.getDateOfJoining(), b.getDateOfJoining())
+                && Objects.equals(a.getCreatedTime(), b.getCreatedTime())
+                && Objects.equals(a.getUpdatedTime(), b.getUpdatedTime());
+    }
+
+    // Immutable; writers replace the whole entry so readers never see a half-updated array
+    private static final class ManagerEntry {
+        private final String id;
+        private final String name;
+        private final String department;
+        private final EmployeeResponseDTO[] reports;
+
+        private ManagerEntry(String id, String name, String department, EmployeeResponseDTO[] reports) {
+            this.id = id;
+            this.name = name;
+            this.department = department;
+            this.reports = reports;
+        }
+
+        private ResponseDTO.Details toDetails(LocalDateTime minJoiningDate) {
+            int count = minJoiningDate != null ? countJoinedOnOrBefore(minJoiningDate) : reports.length;
+            ResponseDTO.Details details = new ResponseDTO.Details();
+            details.setId(id);
+            details.setAccountManager(name);
+            details.setDepartment(department);
+            details.setEmployeeList(new ArrayList<>(Arrays.asList(reports).subList(0, count)));
+            return details;
+        }
+
+        // Number of leading reports with dateOfJoining <= minJoiningDate
+        private int countJoinedOnOrBefore(LocalDateTime minJoiningDate) {
+            int low = 0;
+            int high = reports.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                LocalDateTime joined = reports[mid].getDateOfJoining();
+                if (joined != null && !joined.isAfter(minJoiningDate)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private ManagerEntry withReport(EmployeeResponseDTO report) {
+            EmployeeResponseDTO[] updated = Arrays.copyOf(reports, reports.length + 1);
+            updated[reports.length] = report;
+            Arrays.sort(updated, BY_JOINING_DATE);
+            return new ManagerEntry(id, name, department, updated);
+        }
+
+        private ManagerEntry withoutReport(String reportId) {
+            EmployeeResponseDTO[] updated = Arrays.stream(reports)
+                    .filter(report -> !report.getId().equals(reportId))
+                    .toArray(EmployeeResponseDTO[]::new);
+            return new ManagerEntry(id, name, department, updated);
+        }
+
+        private boolean sameAs(ManagerEntry other) {
+            if (other == null || !Objects.equals(name, other.name) || !Objects.equals(department, other.department)
+                    || reports.length != other.reports.length) {
+                return false;
+            }
+            for (int i = 0; i < reports.length; i++) {
+                if (!sameReport(reports[i], other.reports[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
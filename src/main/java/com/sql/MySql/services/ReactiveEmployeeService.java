@@ -0,0 +1,95 @@
+package com.sql.MySql.services;
+
+import com.sql.MySql.repositories.ReactiveEmployeeRepository;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.ResponseDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reactive counterpart of the read paths in {@link EmployeeManagerService}: same validation,
+ * messages and response shapes, but nothing here blocks a thread while waiting on the database.
+ */
+@Service
+public class ReactiveEmployeeService {
+
+    @Autowired
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    public Flux<EmployeeResponseDTO> streamEmployees() {
+        return reactiveEmployeeRepository.streamAllEmployees();
+    }
+
+    public Mono<ResponseDTO> managerWithExperience(String managerId, Integer minYearsOfExperience) {
+        return Mono.defer(() -> {
+            if (managerId != null && minYearsOfExperience != null) {
+                if (Integer.parseInt(managerId) < 0 || minYearsOfExperience < 0) {
+                    throw new IllegalArgumentException("Manager ID and Minimum Years of Experience must be non-negative.");
+                }
+                LocalDateTime minJoiningDate = EmployeeManagerService.joinedBy(minYearsOfExperience, LocalDate.now());
+                return reactiveEmployeeRepository.findById(managerId)
+                        .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Invalid Manager ID")))
+                        .flatMap(manager -> reactiveEmployeeRepository
+                                .findEmployeesByManagerId(managerId, minJoiningDate)
+                                .collectList()
+                                .map(employees -> List.of(toDetails(manager.getId(), manager.getName(),
+                                        manager.getDepartment(), employees))))
+                        .map(ReactiveEmployeeService::fetched);
+            } else if (managerId != null) {
+                if (Integer.parseInt(managerId) < 0) {
+                    throw new IllegalArgumentException("Invalid Manager ID");
+                }
+                return reactiveEmployeeRepository.findById(managerId)
+                        .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Invalid Manager ID")))
+                        .flatMap(manager -> {
+                            // Only top-level managers have a report list; anyone else is fetched with no details
+                            if (!"0".equals(manager.getManagerId())) {
+                                return Mono.just(List.<ResponseDTO.Details>of());
+                            }
+                            return reactiveEmployeeRepository.findEmployeesByManagerId(managerId, null)
+                                    .collectList()
+                                    .map(employees -> List.of(toDetails(manager.getId(), manager.getName(),
+                                            manager.getDepartment(), employees)));
+                        })
+                        .map(ReactiveEmployeeService::fetched);
+            } else if (minYearsOfExperience != null) {
+                if (minYearsOfExperience < 0) {
+                    throw new IllegalArgumentException("Minimum Years of Experience must be non-negative.");
+                }
+                LocalDateTime minJoiningDate = EmployeeManagerService.joinedBy(minYearsOfExperience, LocalDate.now());
+                return reactiveEmployeeRepository.findManagersWithEmployees(minJoiningDate)
+                        .collectList()
+                        .map(ReactiveEmployeeService::fetched);
+            }
+            return reactiveEmployeeRepository.findManagersWithEmployees(null)
+                    .collectList()
+                    .map(ReactiveEmployeeService::fetched);
+        });
+    }
+
+    private static ResponseDTO.Details toDetails(String id, String name, String department,
+            List<EmployeeResponseDTO> employees) {
+        ResponseDTO.Details details = new ResponseDTO.Details();
+        details.setId(id);
+        details.setAccountManager(name);
+        details.setDepartment(department);
+        details.setEmployeeList(employees);
+        return details;
+    }
+
+    private static ResponseDTO fetched(List<ResponseDTO.Details> detailsList) {
+        ResponseDTO responseDTO = new ResponseDTO(null);
+        responseDTO.setMessage("Successfully fetched");
+        if (!detailsList.isEmpty()) {
+            responseDTO.setDetails(detailsList);
+        }
+        return responseDTO;
+    }
+}
@@ -0,0 +1,9 @@
+package com.sql.MySql.services;
+
+// Thrown when the async write pipeline is shutting down and takes no new work; reported to clients as 503
+public class WritePipelineStoppedException extends RuntimeException {
+
+    public WritePipelineStoppedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.sql.MySql.services;
+
+// Thrown when the async write queue is at capacity; reported to clients as 429
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+}
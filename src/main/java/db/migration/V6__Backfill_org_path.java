@@ -0,0 +1,91 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Fills orgPath (added by V5) for existing rows. Nested reporting lines can be any depth, which
+ * plain SQL could only follow with a recursive UPDATE that MySQL and H2 spell differently, so the
+ * paths are worked out here from (id, managerId) and written back in batches. Employees whose
+ * manager no longer exists start a path of their own. The path format is spelled out here rather
+ * than taken from OrgPath, so later application changes cannot change what this migration writes.
+ */
+public class V6__Backfill_org_path extends BaseJavaMigration {
+
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Map<String, String> managerIds = new HashMap<>();
+        Map<String, String> paths = new HashMap<>();
+        try (Statement select = connection.createStatement();
+                ResultSet rows = select.executeQuery("SELECT id, managerId, orgPath FROM EmployeeManagerModel")) {
+            while (rows.next()) {
+                managerIds.put(rows.getString(1), rows.getString(2));
+                if (rows.getString(3) != null) {
+                    paths.put(rows.getString(1), rows.getString(3));
+                }
+            }
+        }
+
+        Set<String> existing = new HashSet<>(paths.keySet());
+        try (PreparedStatement update = connection
+                .prepareStatement("UPDATE EmployeeManagerModel SET orgPath = ? WHERE id = ?")) {
+            int batched = 0;
+            for (String id : managerIds.keySet()) {
+                if (existing.contains(id)) {
+                    continue;
+                }
+                update.setString(1, resolve(id, managerIds, paths));
+                update.setString(2, id);
+                update.addBatch();
+                if (++batched % UPDATE_BATCH_SIZE == 0) {
+                    update.executeBatch();
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    // Walks up to the first employee with a known path (or a top-level manager), then fills in the
+    // paths on the way back down. A missing manager or a loop ends the walk as a new root
+    private static String resolve(String id, Map<String, String> managerIds, Map<String, String> paths) {
+        Set<String> visiting = new HashSet<>();
+        Deque<String> chain = new ArrayDeque<>();
+        String current = id;
+        String path = null;
+        while (current != null) {
+            path = paths.get(current);
+            if (path != null) {
+                break;
+            }
+            chain.push(current);
+            visiting.add(current);
+            String managerId = managerIds.get(current);
+            if (managerId == null || "0".equals(managerId) || !managerIds.containsKey(managerId)
+                    || visiting.contains(managerId)) {
+                current = null;
+            } else {
+                current = managerId;
+            }
+        }
+        while (!chain.isEmpty()) {
+            String next = chain.pop();
+            path = (path == null ? "/" : path) + next + "/";
+            paths.put(next, path);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,62 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Fills nameFolded and emailFolded (added by V7) for existing rows. Stripping accents needs Unicode
+ * decomposition, which neither MySQL nor H2 offers in SQL, so the values are worked out here and
+ * written back in batches. The folding is spelled out rather than taken from SearchText, so later
+ * application changes cannot change what this migration writes.
+ */
+public class V8__Backfill_folded_name_email extends BaseJavaMigration {
+
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        List<String[]> folded = new ArrayList<>();
+        try (Statement select = connection.createStatement();
+                ResultSet rows = select.executeQuery("SELECT id, name, email FROM EmployeeManagerModel")) {
+            while (rows.next()) {
+                folded.add(new String[] { rows.getString(1), fold(rows.getString(2)), fold(rows.getString(3)) });
+            }
+        }
+
+        try (PreparedStatement update = connection
+                .prepareStatement("UPDATE EmployeeManagerModel SET nameFolded = ?, emailFolded = ? WHERE id = ?")) {
+            int batched = 0;
+            for (String[] row : folded) {
+                update.setString(1, row[1]);
+                update.setString(2, row[2]);
+                update.setString(3, row[0]);
+                update.addBatch();
+                if (++batched % UPDATE_BATCH_SIZE == 0) {
+                    update.executeBatch();
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    private static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        return MARKS.matcher(Normalizer.normalize(text.trim(), Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+}
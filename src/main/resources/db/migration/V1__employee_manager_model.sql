@@ -0,0 +1,24 @@
+-- Schema previously created by ddl-auto=update; IF NOT EXISTS lets existing databases baseline onto it.
+CREATE TABLE IF NOT EXISTS EmployeeManagerModel (
+    id VARCHAR(255) NOT NULL,
+    name VARCHAR(255),
+    designation VARCHAR(255),
+    email VARCHAR(255),
+    department VARCHAR(255),
+    mobile VARCHAR(255),
+    location VARCHAR(255),
+    managerId VARCHAR(255),
+    dateOfJoining DATETIME(6),
+    createdTime DATETIME(6),
+    updatedTime DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- getEmployeesByManagerIdAndJoiningDate, findByManagerId
+CREATE INDEX idx_employee_manager_joining ON EmployeeManagerModel (managerId, dateOfJoining);
+
+-- findManagerByDepartment, findByDepartment
+CREATE INDEX idx_employee_department_manager ON EmployeeManagerModel (department, managerId);
+
+-- existsByEmail
+CREATE UNIQUE INDEX uk_employee_email ON EmployeeManagerModel (email);
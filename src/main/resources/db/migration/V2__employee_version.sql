@@ -0,0 +1,2 @@
+-- Optimistic-lock version checked by the conditional manager-change UPDATE; existing rows start at 0.
+ALTER TABLE EmployeeManagerModel ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- One manager per department, enforced by the insert itself instead of a lookup before it.
+-- Only manager rows get a value, and NULLs never collide in a unique index.
+ALTER TABLE EmployeeManagerModel ADD COLUMN managerDepartment VARCHAR(255)
+    GENERATED ALWAYS AS (CASE WHEN managerId = '0' THEN LOWER(department) END);
+
+CREATE UNIQUE INDEX uk_employee_department_manager ON EmployeeManagerModel (managerDepartment);
@@ -0,0 +1,9 @@
+-- GET /api/employees/search: every predicate it accepts leads at least one index. Department and
+-- manager already do (idx_employee_department_manager, idx_employee_manager_joining); InnoDB
+-- appends the primary key to each secondary index, so an equality match is also walked in id
+-- order for the keyset page.
+CREATE INDEX idx_employee_designation ON EmployeeManagerModel (designation);
+
+CREATE INDEX idx_employee_location ON EmployeeManagerModel (location);
+
+CREATE INDEX idx_employee_joining ON EmployeeManagerModel (dateOfJoining);
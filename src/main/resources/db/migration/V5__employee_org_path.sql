@@ -0,0 +1,7 @@
+-- Materialized reporting line, "/<top-level manager id>/.../<own id>/", so everyone under an employee
+-- is one range scan on the path prefix and their managers are one primary-key lookup of the ids in
+-- it. Existing rows are filled in by V6; the application sets it on every insert and move.
+-- 700 characters keeps the utf8mb4 index under InnoDB's 3072-byte key limit.
+ALTER TABLE EmployeeManagerModel ADD COLUMN orgPath VARCHAR(700);
+
+CREATE INDEX idx_employee_org_path ON EmployeeManagerModel (orgPath);
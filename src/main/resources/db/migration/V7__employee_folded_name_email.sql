@@ -0,0 +1,8 @@
+-- Lower-case, accent-free copies of name and email for the /api/employees/suggest SQL fallback, so it
+-- matches what the in-memory index matches and a prefix LIKE can use an index. The application sets
+-- them on every insert; existing rows are filled in by V8.
+ALTER TABLE EmployeeManagerModel ADD COLUMN nameFolded VARCHAR(255);
+ALTER TABLE EmployeeManagerModel ADD COLUMN emailFolded VARCHAR(255);
+
+CREATE INDEX idx_employee_name_folded ON EmployeeManagerModel (nameFolded);
+CREATE INDEX idx_employee_email_folded ON EmployeeManagerModel (emailFolded);
@@ -0,0 +1,124 @@
+package com.sql.MySql;
+
+import static com.sql.MySql.EmployeeFixtures.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sql.MySql.config.QueryMetricsInterceptor;
+import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.services.EmployeeManagerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Counts repository calls through the query timers to show a 304 never reaches the database
+@SpringBootTest(properties = { "employee.hierarchy-cache.enabled=false", "employee.conditional-get.enabled=true" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmployeeManagerService employeeService;
+
+    @Autowired
+    private EmployeeManagerRepository employeeManagerMainRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeService.addEmployee(employee("901", "0", "engineering"));
+        employeeService.addEmployee(employee("902", "901", "engineering"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeManagerMainRepository.deleteAllById(List.of("902", "903", "901"));
+    }
+
+    @Test
+    void testMatchingETag_NotModifiedWithoutQuery() throws Exception {
+        String etag = etagOf("/api/managerWithYear?managerId=901");
+        long before = queries();
+
+        mockMvc.perform(get("/api/managerWithYear").param("managerId", "901").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        assertEquals(before, queries());
+    }
+
+    @Test
+    void testYearFilter_ETagCarriesTheDate() throws Exception {
+        String plain = etagOf("/api/managerWithYear?managerId=901");
+        String withYear = etagOf("/api/managerWithYear?managerId=901&year=1");
+
+        assertNotEquals(plain, withYear);
+        assertTrue(withYear.contains(LocalDate.now().toString()), withYear);
+    }
+
+    @Test
+    void testCommittedWrites_ChangeETag() throws Exception {
+        String initial = etagOf("/api/employees");
+
+        employeeService.addEmployee(employee("903", "0", "QA"));
+        String afterAdd = etagOf("/api/employees");
+        assertNotEquals(initial, afterAdd);
+
+        employeeService.changeManager("902", "903");
+        String afterChange = etagOf("/api/employees");
+        assertNotEquals(afterAdd, afterChange);
+
+        employeeService.deleteEmployee("902");
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, afterChange))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRejectedWrites_KeepETag() throws Exception {
+        String etag = etagOf("/api/employees");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeService.addEmployee(employee("901", "0", "sales")));
+        employeeService.deleteEmployee("does-not-exist");
+
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String etagOf(String uri) throws Exception {
+        return mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private long queries() {
+        return meterRegistry.find(QueryMetricsInterceptor.QUERY_TIMER).timers().stream()
+                .mapToLong(Timer::count).sum();
+    }
+}
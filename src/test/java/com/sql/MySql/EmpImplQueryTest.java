@@ -0,0 +1,337 @@
+package com.sql.MySql;
+
+import static com.sql.MySql.EmployeeFixtures.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.sql.MySql.models.EmployeeField;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmpImpl;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.response.ResponseDTO;
+import com.sql.MySql.services.EmployeeSuggestIndex;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@Import(EmpImpl.class)
+public class EmpImplQueryTest {
+
+    @Autowired
+    private EmpImpl empImpl;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private int batch;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testFindManagersWithEmployees_StatementCountIsConstant() {
+        insertManagers(3, 1);
+        long singleManager = countStatements(() -> empImpl.findManagersWithEmployees(null));
+
+        insertManagers(3, 40);
+        long manyManagers = countStatements(() -> empImpl.findManagersWithEmployees(null));
+
+        assertEquals(1, singleManager);
+        assertEquals(singleManager, manyManagers);
+    }
+
+    @Test
+    void testFindManagersWithEmployees_JoiningDateFilter() {
+        insertManagers(3, 3);
+        LocalDateTime minJoiningDate = LocalDateTime.now().minusYears(2);
+
+        long statements = countStatements(() -> empImpl.findManagersWithEmployees(minJoiningDate));
+        List<ResponseDTO.Details> result = empImpl.findManagersWithEmployees(minJoiningDate);
+
+        assertEquals(1, statements);
+        assertEquals(3, result.size());
+        // Reports alternate between 1 and 3 years of service, so only the senior half pass the filter
+        for (ResponseDTO.Details details : result) {
+            assertEquals(2, details.getEmployeeList().size());
+        }
+    }
+
+    @Test
+    void testFindManagersWithEmployees_KeepsManagersWithoutEmployees() {
+        insertManagers(0, 2);
+
+        List<ResponseDTO.Details> result = empImpl.findManagersWithEmployees(null);
+
+        assertEquals(2, result.size());
+        result.forEach(details -> assertEquals(0, details.getEmployeeList().size()));
+    }
+
+    @Test
+    void testEmployeeDTOProjections_DoNotManageEntities() {
+        insertManagers(3, 1);
+        entityManager.clear();
+
+        List<EmployeeResponseDTO> employees = empImpl.findEmployeeDTOsByManagerId("m1-0");
+        List<EmployeeResponseDTO> seniorEmployees = empImpl.findEmployeeDTOsByManagerIdAndJoiningDate("m1-0",
+                LocalDateTime.now().minusYears(2));
+
+        assertEquals(3, employees.size());
+        assertEquals(2, seniorEmployees.size());
+        assertTrue(employees.stream().anyMatch(employee -> "Name m1-0-e0".equals(employee.getName())));
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testGetEmployeesAfterId_WalksTableInIdOrder() {
+        insertManagers(4, 2);
+
+        List<EmployeeManagerModel> firstPage = empImpl.getEmployeesAfterId(null, 4);
+        List<EmployeeManagerModel> secondPage = empImpl.getEmployeesAfterId(firstPage.get(3).getId(), 4);
+        List<EmployeeManagerModel> lastPage = empImpl.getEmployeesAfterId(secondPage.get(3).getId(), 4);
+
+        assertEquals(4, firstPage.size());
+        assertEquals(4, secondPage.size());
+        assertEquals(2, lastPage.size());
+        assertTrue(firstPage.get(3).getId().compareTo(secondPage.get(0).getId()) < 0);
+    }
+
+    @Test
+    void testGetEmployeeFieldsAfterId_SelectsOnlyRequestedColumns() {
+        insertManagers(2, 2);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Object[]> firstPage = empImpl.getEmployeeFieldsAfterId(List.of(EmployeeField.NAME, EmployeeField.DEPARTMENT),
+                null, 4);
+        List<Object[]> lastPage = empImpl.getEmployeeFieldsAfterId(List.of(EmployeeField.NAME), (String) firstPage.get(3)[0],
+                4);
+
+        assertEquals(4, firstPage.size());
+        assertEquals(2, lastPage.size());
+        assertEquals(3, firstPage.get(0).length);
+        assertEquals("Name " + firstPage.get(0)[0], firstPage.get(0)[1]);
+        assertEquals(2, lastPage.get(0).length);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testGetEmployeeFieldsAfterId_IdSelectedOnce() {
+        insertManagers(1, 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Object[]> idOnly = empImpl.getEmployeeFieldsAfterId(List.of(EmployeeField.ID), null, 4);
+        List<Object[]> nameThenId = empImpl.getEmployeeFieldsAfterId(List.of(EmployeeField.NAME, EmployeeField.ID),
+                null, 4);
+
+        assertEquals(1, idOnly.get(0).length);
+        assertEquals(2, nameThenId.get(0).length);
+        assertEquals("Name " + nameThenId.get(0)[0], nameThenId.get(0)[1]);
+    }
+
+    @Test
+    void testFindSuggestions_PrefixOfNameOrEmail() {
+        insertManagers(1, 2);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of("m1-0", "m1-0-e0"), empImpl.findSuggestions("name m1-0", 10).stream()
+                .map(EmployeeSuggestionDTO::getId).toList());
+        assertEquals(1, empImpl.findSuggestions("m1-1@", 10).size());
+        // LIKE wildcards in the prefix are matched literally
+        assertEquals(0, empImpl.findSuggestions("name m1_", 10).size());
+        assertEquals(0, empImpl.findSuggestions("%", 10).size());
+    }
+
+    @Test
+    void testFindSuggestions_AnyWordOfTheName() {
+        EmployeeManagerModel first = employee("word-1", "0", "dept-word-1", 2);
+        first.setName("Mary-Ann O'Neil");
+        EmployeeManagerModel second = employee("word-2", "0", "dept-word-2", 2);
+        second.setName("Neil Smith");
+        EmployeeManagerModel third = employee("word-3", "0", "dept-word-3", 2);
+        third.setName("Anne J. Cornelius");
+        entityManager.persist(first);
+        entityManager.persist(second);
+        entityManager.persist(third);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Ordered by folded name, so "anne j. cornelius" comes ahead of "mary-ann o'neil"
+        assertEquals(List.of("word-3", "word-1"), empImpl.findSuggestions("ann", 10).stream()
+                .map(EmployeeSuggestionDTO::getId).toList());
+        assertEquals(List.of("word-1", "word-2"), empImpl.findSuggestions("neil", 10).stream()
+                .map(EmployeeSuggestionDTO::getId).toList());
+        assertEquals(List.of("word-3"), empImpl.findSuggestions("cor", 10).stream()
+                .map(EmployeeSuggestionDTO::getId).toList());
+        // A word is matched from its start only, and a query with a separator only against the whole name
+        assertEquals(0, empImpl.findSuggestions("eil", 10).size());
+        assertEquals(List.of("word-2"), empImpl.findSuggestions("neil s", 10).stream()
+                .map(EmployeeSuggestionDTO::getId).toList());
+        assertEquals(0, empImpl.findSuggestions("ann o", 10).size());
+    }
+
+    @Test
+    void testFindSuggestions_FoldedLikeTheIndex() {
+        EmployeeManagerModel employee = employee("zoe-1", "0", "dept-zoe", 2);
+        employee.setName("Zoë Ångström");
+        employee.setEmail("ZOE.A@example.com");
+        entityManager.persist(employee);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of("zoe-1"), empImpl.findSuggestions(EmployeeSuggestIndex.fold("ZOË Å"), 10).stream()
+                .map(EmployeeSuggestionDTO::getId).toList());
+        assertEquals(1, empImpl.findSuggestions("zoe.a@", 10).size());
+        assertEquals(1, empImpl.countEmployees());
+        assertEquals("Zoë Ångström", empImpl.findAllSuggestions().get(0).getName());
+    }
+
+    @Test
+    void testCountByDepartmentManagerAndJoiningDate() {
+        insertManagers(4, 1);
+        entityManager.clear();
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : empImpl.countByDepartmentManagerAndJoiningDate()) {
+            counts.put(row[0] + "|" + row[1] + "|" + (LocalDate) row[2], (Long) row[3]);
+        }
+
+        // Reports alternate between 3 and 1 years of service, so two share each joining date
+        LocalDate today = LocalDate.now();
+        assertEquals(Map.of(
+                "dept-m1-0|0|" + today.minusYears(5), 1L,
+                "dept-m1-0|m1-0|" + today.minusYears(3), 2L,
+                "dept-m1-0|m1-0|" + today.minusYears(1), 2L), counts);
+    }
+
+    @Test
+    void testCountByDepartmentManagerAndJoiningDate_DepartmentCaseFolded() {
+        EmployeeManagerModel first = employee("case-1", "case-m", "Sales", 2);
+        EmployeeManagerModel second = employee("case-2", "case-m", "SALES", 2);
+        second.setDateOfJoining(first.getDateOfJoining());
+        entityManager.persist(first);
+        entityManager.persist(second);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Object[]> rows = empImpl.countByDepartmentManagerAndJoiningDate();
+
+        assertEquals(1, rows.size());
+        assertEquals("sales", rows.get(0)[0]);
+        assertEquals(2L, rows.get(0)[3]);
+    }
+
+    @Test
+    void testStreamAllEmployees_PersistenceContextStaysBounded() {
+        int rows = 50_000;
+        entityManager.createNativeQuery("INSERT INTO EmployeeManagerModel "
+                + "(id, name, designation, email, department, mobile, location, managerId, dateOfJoining) "
+                + "SELECT 'bulk-' || X, 'Name ' || X, 'associate', 'bulk' || X || '@example.com', 'sales', "
+                + "'1234567890', 'Delhi', '1', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + rows + ")")
+                .executeUpdate();
+        entityManager.clear();
+
+        Session session = entityManager.unwrap(Session.class);
+        long[] streamed = new long[1];
+        int[] maxManaged = new int[1];
+        empImpl.streamAllEmployees(employee -> {
+            streamed[0]++;
+            maxManaged[0] = Math.max(maxManaged[0], session.getStatistics().getEntityCount());
+        });
+
+        assertEquals(rows, streamed[0]);
+        assertTrue(maxManaged[0] <= EmpImpl.STREAM_FETCH_SIZE,
+                "Persistence context grew to " + maxManaged[0] + " entities while streaming");
+    }
+
+    @Test
+    void testPersistAll_UsesJdbcBatches() {
+        List<EmployeeManagerModel> employees = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            employees.add(employee("batch-" + i, "1", "sales", 1));
+        }
+        statistics.clear();
+
+        empImpl.persistAll(employees);
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        // One prepared statement per JDBC batch of INSERT_BATCH_SIZE rows
+        assertEquals((120 + EmpImpl.INSERT_BATCH_SIZE - 1) / EmpImpl.INSERT_BATCH_SIZE,
+                statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSetBasedLookups() {
+        insertManagers(2, 2);
+
+        assertEquals(List.of("m1-0"), empImpl.findExistingIds(List.of("m1-0", "missing")));
+        assertEquals(List.of("m1-1@example.com"), empImpl.findExistingEmails(List.of("m1-1@example.com", "x@y.com")));
+        // m1-0 by id, plus the current manager of m1-1's department
+        assertEquals(2, empImpl.findManagersByIdsOrDepartments(List.of("m1-0"), List.of("dept-m1-1")).size());
+        assertEquals(0, empImpl.findExistingIds(List.of()).size());
+    }
+
+    @Test
+    void testQueryPlans_UseDeclaredIndexes() {
+        assertPlanUses("SELECT * FROM EmployeeManagerModel WHERE managerId = '1' AND dateOfJoining <= CURRENT_TIMESTAMP",
+                "IDX_EMPLOYEE_MANAGER_JOINING");
+        assertPlanUses("SELECT * FROM EmployeeManagerModel WHERE managerId = '1'", "IDX_EMPLOYEE_MANAGER_JOINING");
+        assertPlanUses("SELECT * FROM EmployeeManagerModel WHERE department = 'sales' AND managerId = '0'",
+                "IDX_EMPLOYEE_DEPARTMENT_MANAGER");
+        assertPlanUses("SELECT id FROM EmployeeManagerModel WHERE email = 'a@example.com'", "UK_EMPLOYEE_EMAIL");
+    }
+
+    private void assertPlanUses(String sql, String indexName) {
+        String plan = String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+        assertTrue(plan.toUpperCase().contains(indexName), "Expected " + indexName + " in plan: " + plan);
+    }
+
+    private long countStatements(Runnable query) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        query.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void insertManagers(int employeesPerManager, int managerCount) {
+        batch++;
+        for (int m = 0; m < managerCount; m++) {
+            String managerId = "m" + batch + "-" + m;
+            // The schema allows one manager per department
+            String department = "dept-" + managerId;
+            entityManager.persist(employee(managerId, "0", department, 5));
+            for (int e = 0; e < employeesPerManager; e++) {
+                int years = e % 2 == 0 ? 3 : 1;
+                entityManager.persist(employee(managerId + "-e" + e, managerId, department, years));
+            }
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,171 @@
+package com.sql.MySql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sql.MySql.helpers.OrgPath;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmpImpl;
+import com.sql.MySql.repositories.EmployeeManagerRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Runs outside the usual rolled-back test transaction: the caches only see committed data
+@DataJpaTest
+@Import(EmpImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmployeeCacheTest {
+
+    @Autowired
+    private EmpImpl empImpl;
+
+    @Autowired
+    private EmployeeManagerRepository employeeManagerMainRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeManagerMainRepository.save(employee("1", "0", "sales"));
+            employeeManagerMainRepository.save(employee("2", "1", "sales"));
+        });
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> employeeManagerMainRepository.deleteAll());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testLookups_ServedFromQueryCache() {
+        empImpl.findManagerByDepartment("sales");
+        empImpl.findManagerByDepartment("sales");
+        empImpl.findByExistingManagerId("1");
+        empImpl.findByExistingManagerId("1");
+        empImpl.findByIdCustom("2");
+        empImpl.findByIdCustom("2");
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testFindById_ServedFromEntityCache() {
+        employeeManagerMainRepository.findById("2");
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("employee-manager-entities").getHitCount() > 0);
+    }
+
+    @Test
+    void testChangeManager_InvalidatesCachedLookups() {
+        assertEquals("1", empImpl.findByIdCustom("2").getManagerId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeManagerMainRepository.save(employee("3", "0", "QA"));
+            EmployeeManagerModel employee = employeeManagerMainRepository.findById("2").get();
+            employee.setManagerId("3");
+            employee.setDepartment("QA");
+        });
+
+        EmployeeManagerModel reloaded = empImpl.findByIdCustom("2");
+        assertEquals("3", reloaded.getManagerId());
+        assertEquals("QA", reloaded.getDepartment());
+    }
+
+    @Test
+    void testReassignManager_TwoStatementsAndVersionBump() {
+        transactionTemplate.executeWithoutResult(status ->
+                employeeManagerMainRepository.save(employee("3", "0", "QA")));
+        EmployeeManagerModel employee = employeeManagerMainRepository.findById("2").get();
+        statistics.clear();
+
+        assertTrue(empImpl.reassignManager(employee, "3", LocalDateTime.now()));
+        // The employee, then everyone below them (nobody here)
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        EmployeeManagerModel reloaded = employeeManagerMainRepository.findById("2").get();
+        assertEquals("3", reloaded.getManagerId());
+        assertEquals("QA", reloaded.getDepartment());
+        assertEquals("/3/2/", reloaded.getOrgPath());
+        assertEquals(employee.getVersion() + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void testReassignManager_StaleVersionMatchesNothing() {
+        transactionTemplate.executeWithoutResult(status ->
+                employeeManagerMainRepository.save(employee("3", "0", "QA")));
+        EmployeeManagerModel stale = employeeManagerMainRepository.findById("2").get();
+        transactionTemplate.executeWithoutResult(status ->
+                employeeManagerMainRepository.findById("2").get().setLocation("Pune"));
+
+        assertFalse(empImpl.reassignManager(stale, "3", LocalDateTime.now()));
+
+        EmployeeManagerModel reloaded = employeeManagerMainRepository.findById("2").get();
+        assertEquals("1", reloaded.getManagerId());
+        assertEquals("Pune", reloaded.getLocation());
+    }
+
+    @Test
+    void testReassignManager_NewManagerMustBeOutsideOwnSubtree() {
+        transactionTemplate.executeWithoutResult(status -> {
+            EmployeeManagerModel report = employee("3", "2", "sales");
+            report.setOrgPath("/1/2/3/");
+            employeeManagerMainRepository.save(report);
+        });
+        EmployeeManagerModel employee = employeeManagerMainRepository.findById("2").get();
+
+        assertFalse(empImpl.reassignManager(employee, "3", LocalDateTime.now()));
+        assertEquals("1", employeeManagerMainRepository.findById("2").get().getManagerId());
+    }
+
+    @Test
+    void testDeleteEmployee_InvalidatesCachedLookups() {
+        assertEquals("1", empImpl.findManagerByDepartment("sales").getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeManagerMainRepository.deleteById("2");
+            employeeManagerMainRepository.deleteById("1");
+        });
+
+        assertNull(empImpl.findManagerByDepartment("sales"));
+        assertNull(empImpl.findByExistingManagerId("1"));
+    }
+
+    // Saved straight through the repository, so the path the service would work out is set here
+    private EmployeeManagerModel employee(String id, String managerId, String department) {
+        EmployeeManagerModel employee = EmployeeFixtures.employee(id, managerId, department);
+        employee.setOrgPath("0".equals(managerId) ? OrgPath.root(id) : OrgPath.child(OrgPath.root(managerId), id));
+        return employee;
+    }
+}
@@ -0,0 +1,123 @@
+package com.sql.MySql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.sql.MySql.config.ManagerDepartmentPrecheck;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.services.EmployeeManagerService;
+
+// Uniqueness is left to the database on insert; checks the constraint names it reports map back to the messages
+@SpringBootTest
+public class EmployeeConstraintTest {
+
+    @Autowired
+    private EmployeeManagerService employeeService;
+
+    @Autowired
+    private EmployeeManagerRepository employeeManagerMainRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeService.addEmployee(employee("801", "0", "constraint801@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeManagerMainRepository.deleteAllById(List.of("801", "802"));
+    }
+
+    @Test
+    void testAddEmployee_DuplicateId() {
+        // As a report, so the primary key is the only constraint broken; which of several a database
+        // names first differs (MySQL checks the primary key first, H2 goes by index order)
+        employeeService.addEmployee(employee("802", "801", "constraint802@example.com"));
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> employeeService
+                .addEmployee(employee("802", "801", "constraint803@example.com")));
+
+        assertEquals("Employee with id 802 already exists.", thrown.getMessage());
+    }
+
+    @Test
+    void testAddEmployee_DuplicateEmail() {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> employeeService
+                .addEmployee(employee("802", "801", "constraint801@example.com")));
+
+        assertEquals("Employee with email constraint801@example.com already exists.", thrown.getMessage());
+    }
+
+    @Test
+    void testAddEmployee_SecondManagerInDepartment() {
+        EmployeeManagerModel manager = employee("802", "0", "constraint802@example.com");
+        manager.setDepartment("DELIVERY");
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.addEmployee(manager));
+
+        assertEquals("Department DELIVERY already has a manager.", thrown.getMessage());
+    }
+
+    @Test
+    void testAddEmployee_AssociatesShareADepartment() {
+        employeeService.addEmployee(employee("802", "801", "constraint802@example.com"));
+
+        assertEquals("delivery", employeeManagerMainRepository.findById("802").get().getDepartment());
+    }
+
+    @Test
+    void testMigrationV3_NamesDepartmentsWithSeveralManagers() throws Exception {
+        // A database from before V3, on its own so the shared schema is untouched
+        String url = "jdbc:h2:mem:precheckV3;MODE=MySQL;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").target("2").load().migrate();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                Statement insert = connection.createStatement()) {
+            insert.executeUpdate("INSERT INTO EmployeeManagerModel (id, department, managerId, version) VALUES "
+                    + "('a', 'Sales', '0', 0), ('b', 'sales', '0', 0), ('c', 'QA', '0', 0), ('d', 'QA', 'c', 0)");
+        }
+
+        FlywayException thrown = assertThrows(FlywayException.class, () -> Flyway.configure()
+                .dataSource(url, "sa", "").callbacks(new ManagerDepartmentPrecheck()).load().migrate());
+
+        assertTrue(thrown.getMessage().contains("these departments have more: sales (2 managers)."),
+                thrown.getMessage());
+        String fix = "UPDATE EmployeeManagerModel SET managerId = 'a', designation = 'associate' WHERE id IN ('b');";
+        assertTrue(thrown.getMessage().contains("\n" + fix + "\n"), thrown.getMessage());
+
+        // The suggested statement is enough for V3 and everything after it to go through
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                Statement update = connection.createStatement()) {
+            update.executeUpdate(fix);
+        }
+        Flyway.configure().dataSource(url, "sa", "").callbacks(new ManagerDepartmentPrecheck()).load().migrate();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+                Statement select = connection.createStatement();
+                ResultSet rows = select.executeQuery("SELECT orgPath FROM EmployeeManagerModel WHERE id = 'b'")) {
+            assertTrue(rows.next());
+            assertEquals("/a/b/", rows.getString(1));
+        }
+    }
+
+    private EmployeeManagerModel employee(String id, String managerId, String email) {
+        EmployeeManagerModel employee = EmployeeFixtures.employee(id, managerId, "delivery");
+        employee.setEmail(email);
+        return employee;
+    }
+}
@@ -3,34 +3,60 @@ package com.sql.MySql;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sql.MySql.helpers.EmployeeSearchCriteria;
 import com.sql.MySql.helpers.ManagerChangeRequest;
+import com.sql.MySql.models.EmployeeField;
 import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.models.TenureBand;
+import com.sql.MySql.response.BatchEmployeeResultDTO;
+import com.sql.MySql.response.EmployeeFieldsPageDTO;
+import com.sql.MySql.response.EmployeePageDTO;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.response.HeadcountDTO;
 import com.sql.MySql.response.ManagerChangeResponseDTO;
+import com.sql.MySql.response.OrgNodeDTO;
 import com.sql.MySql.response.ResponseDTO;
 import com.sql.MySql.response.ResponseMessage;
+import com.sql.MySql.response.WriteStatusDTO;
 import com.sql.MySql.services.EmployeeManagerService;
+import com.sql.MySql.services.EmployeeWritePipeline;
+import com.sql.MySql.services.WritePipelineStoppedException;
+import com.sql.MySql.services.WriteQueueFullException;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -42,6 +68,9 @@ public class EmployeeControllerTest {
     @MockBean
     private EmployeeManagerService employeeService;
 
+    @MockBean
+    private EmployeeWritePipeline employeeWritePipeline;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -72,6 +101,7 @@ public class EmployeeControllerTest {
 
         // Perform the request and verify
         mockMvc.perform(get("/api/employees")
+                .param("unpaged", "true")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value("1"))
@@ -84,6 +114,174 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[0].managerId").value("1001"));
     }
 
+    @Test
+    void testGetEmployeesPageFromController() throws Exception {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId("1");
+        employee.setName("John Doe");
+        employee.setManagerId("1001");
+
+        EmployeePageDTO page = new EmployeePageDTO(Arrays.asList(employee), "MQ");
+
+        when(employeeService.getEmployeesPage("MA", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/employees")
+                .param("cursor", "MA")
+                .param("limit", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].id").value("1"))
+                .andExpect(jsonPath("$.employees[0].managerId").value("1001"))
+                .andExpect(jsonPath("$.nextCursor").value("MQ"));
+    }
+
+    @Test
+    void testGetEmployeeFieldsFromController() throws Exception {
+        List<EmployeeField> fields = List.of(EmployeeField.ID, EmployeeField.NAME, EmployeeField.DATE_OF_JOINING);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { "1", "John Doe", LocalDateTime.of(2020, 5, 1, 9, 30) });
+        rows.add(new Object[] { "2", "Jane Doe", null });
+
+        when(employeeService.getEmployeeFieldsPage("id,name,dateOfJoining", null, null))
+                .thenReturn(new EmployeeFieldsPageDTO(fields, rows, "Mg"));
+
+        mockMvc.perform(get("/api/employees").param("fields", "id,name,dateOfJoining"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].id").value("1"))
+                .andExpect(jsonPath("$.employees[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.employees[0].dateOfJoining").value("2020-05-01T09:30:00.000"))
+                .andExpect(jsonPath("$.employees[0].email").doesNotExist())
+                .andExpect(jsonPath("$.employees[1].dateOfJoining").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").value("Mg"));
+    }
+
+    @Test
+    void testGetEmployeeFields_RefusedWhenUnpaged() throws Exception {
+        mockMvc.perform(get("/api/employees").param("fields", "id,name").param("unpaged", "true"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message")
+                        .value("fields cannot be combined with unpaged=true; page with cursor instead."));
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void testSearchEmployeesFromController() throws Exception {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId("7");
+        employee.setDepartment("sales");
+
+        when(employeeService.searchEmployees(any(), eq("MA"), eq(5)))
+                .thenReturn(new EmployeePageDTO(Arrays.asList(employee), null));
+
+        mockMvc.perform(get("/api/employees/search")
+                .param("department", "sales")
+                .param("managerId", "1")
+                .param("joinedFrom", "2020-01-01")
+                .param("joinedTo", "2021-12-31")
+                .param("cursor", "MA")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees[0].id").value("7"));
+
+        ArgumentCaptor<EmployeeSearchCriteria> criteria = ArgumentCaptor.forClass(EmployeeSearchCriteria.class);
+        verify(employeeService).searchEmployees(criteria.capture(), eq("MA"), eq(5));
+        assertEquals("sales", criteria.getValue().getDepartment());
+        assertEquals("1", criteria.getValue().getManagerId());
+        assertEquals(LocalDate.of(2020, 1, 1), criteria.getValue().getJoinedFrom());
+        assertEquals(LocalDate.of(2021, 12, 31), criteria.getValue().getJoinedTo());
+        assertEquals(null, criteria.getValue().getDesignation());
+    }
+
+    @Test
+    void testSuggestEmployeesFromController() throws Exception {
+        when(employeeService.suggestEmployees("an", null))
+                .thenReturn(List.of(new EmployeeSuggestionDTO("1", "Anna Smith", "anna@example.com")));
+
+        mockMvc.perform(get("/api/employees/suggest").param("q", "an"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[0].name").value("Anna Smith"))
+                .andExpect(jsonPath("$[0].email").value("anna@example.com"));
+    }
+
+    @Test
+    void testGetSubtreeFromController() throws Exception {
+        when(employeeService.getSubtree("1")).thenReturn(List.of(
+                new OrgNodeDTO("2", "Lead", "associate", "lead@example.com", "sales", "1", null, "/1/2/"),
+                new OrgNodeDTO("3", "Report", "associate", "report@example.com", "sales", "2", null, "/1/2/3/")));
+        when(employeeService.getSubtree("99")).thenReturn(null);
+
+        mockMvc.perform(get("/api/employees/1/subtree"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].id").value("3"))
+                .andExpect(jsonPath("$[1].managerId").value("2"))
+                .andExpect(jsonPath("$[1].level").value(2));
+        mockMvc.perform(get("/api/employees/99/subtree"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetHeadcountFromController() throws Exception {
+        when(employeeService.getHeadcount()).thenReturn(new HeadcountDTO(LocalDate.of(2026, 10, 18), 3, List.of(
+                new HeadcountDTO.Group("sales", "0", TenureBand.OVER_10, 1),
+                new HeadcountDTO.Group("sales", "1", TenureBand.FROM_1_TO_3, 2))));
+
+        mockMvc.perform(get("/api/stats/headcount"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asOf").value("2026-10-18"))
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.groups[1].managerId").value("1"))
+                .andExpect(jsonPath("$.groups[1].tenure").value("1-3y"))
+                .andExpect(jsonPath("$.groups[1].count").value(2));
+    }
+
+    @Test
+    void testExportEmployeesAsNdjson() throws Exception {
+        EmployeeManagerModel employee1 = new EmployeeManagerModel();
+        employee1.setId("1");
+        employee1.setName("John Doe");
+        EmployeeManagerModel employee2 = new EmployeeManagerModel();
+        employee2.setId("2");
+        employee2.setName("Jane Doe");
+
+        doAnswer(invocation -> {
+            Consumer<EmployeeManagerModel> consumer = invocation.getArgument(0);
+            consumer.accept(employee1);
+            consumer.accept(employee2);
+            return null;
+        }).when(employeeService).exportEmployees(any());
+
+        MvcResult result = mockMvc.perform(get("/api/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("1", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("Jane Doe", objectMapper.readTree(lines[1]).get("name").asText());
+    }
+
+    @Test
+    void testAddEmployeesBatch() throws Exception {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId("1");
+
+        when(employeeService.addEmployees(any())).thenReturn(Arrays.asList(
+                new BatchEmployeeResultDTO(0, "1", BatchEmployeeResultDTO.CREATED, "Successfully created.")));
+
+        mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Arrays.asList(employee))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[0].status").value("CREATED"));
+    }
+
     @Test
     void testAddEmployeeSuccess() throws Exception {
         // Create a mock employee
@@ -130,6 +328,62 @@ public class EmployeeControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isCreated());
     }
 
+    @Test
+    void testAddEmployee_QueuedWhenPipelineEnabled() throws Exception {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId("1002");
+        when(employeeWritePipeline.isEnabled()).thenReturn(true);
+        when(employeeWritePipeline.submit(any())).thenReturn(
+                new WriteStatusDTO("abc", "1002", WriteStatusDTO.PENDING, null));
+
+        mockMvc.perform(post("/api/newEmployee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string("Location", "/api/newEmployee/status/abc"))
+                .andExpect(jsonPath("$.trackingId").value("abc"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void testAddEmployee_QueueFull() throws Exception {
+        when(employeeWritePipeline.isEnabled()).thenReturn(true);
+        when(employeeWritePipeline.submit(any()))
+                .thenThrow(new WriteQueueFullException("Too many pending employee writes. Retry shortly."));
+
+        mockMvc.perform(post("/api/newEmployee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EmployeeManagerModel())))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Too many pending employee writes. Retry shortly."));
+    }
+
+    @Test
+    void testAddEmployee_PipelineStopped() throws Exception {
+        when(employeeWritePipeline.isEnabled()).thenReturn(true);
+        when(employeeWritePipeline.submit(any()))
+                .thenThrow(new WritePipelineStoppedException("Employee writes are not being accepted while shutting down."));
+
+        mockMvc.perform(post("/api/newEmployee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EmployeeManagerModel())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Employee writes are not being accepted while shutting down."));
+    }
+
+    @Test
+    void testGetWriteStatus() throws Exception {
+        when(employeeWritePipeline.getStatus("abc")).thenReturn(
+                new WriteStatusDTO("abc", "1002", BatchEmployeeResultDTO.CREATED, "Successfully created."));
+
+        mockMvc.perform(get("/api/newEmployee/status/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"));
+        mockMvc.perform(get("/api/newEmployee/status/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testDeleteEmployeeSuccess() throws Exception {
         // Mock the behavior of employeeService
@@ -221,6 +475,17 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.details[0].department").value("HR"));
     }
 
+    @Test
+    void testGetManagerWithExperience_QueryTimeout() throws Exception {
+        when(employeeService.managerWithExperience(null, null))
+                .thenThrow(new QueryTimeoutException("Statement cancelled"));
+
+        mockMvc.perform(get("/api/managerWithYear"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("The query took too long. Retry shortly."));
+    }
+
     @Test
     void testGetManagerWithExperience_NotFound() throws Exception {
         when(employeeService.managerWithExperience("123", 10)).thenReturn(null);
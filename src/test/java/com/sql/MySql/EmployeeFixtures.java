@@ -0,0 +1,33 @@
+package com.sql.MySql;
+
+import java.time.LocalDateTime;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+
+// Employee rows for tests: every required column filled in so the row passes the insert checks, with
+// the designation following managerId. Tests set whatever they exercise on top
+public final class EmployeeFixtures {
+
+    private EmployeeFixtures() {
+    }
+
+    public static EmployeeManagerModel employee(String id, String managerId, String department) {
+        return employee(id, managerId, department, 2);
+    }
+
+    public static EmployeeManagerModel employee(String id, String managerId, String department, int years) {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId(id);
+        employee.setName("Name " + id);
+        employee.setEmail(id + "@example.com");
+        employee.setDesignation("0".equals(managerId) ? "Account Manager" : "associate");
+        employee.setDepartment(department);
+        employee.setMobile("1234567890");
+        employee.setLocation("Delhi");
+        employee.setManagerId(managerId);
+        employee.setDateOfJoining(LocalDateTime.now().minusYears(years));
+        employee.setCreatedTime(LocalDateTime.now());
+        employee.setUpdatedTime(LocalDateTime.now());
+        return employee;
+    }
+}
@@ -0,0 +1,176 @@
+package com.sql.MySql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import com.sql.MySql.helpers.OrgPath;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmpImpl;
+import com.sql.MySql.response.OrgNodeDTO;
+
+import db.migration.V6__Backfill_org_path;
+import jakarta.persistence.EntityManager;
+
+// s1 (sales) -> s1-a -> s1-a-x -> s1-a-x-y, plus s1-b and s1_a under s1; q1 (QA) -> q1-a
+@DataJpaTest
+@Import(EmpImpl.class)
+public class EmployeeOrgPathTest {
+
+    @Autowired
+    private EmpImpl empImpl;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        persist("s1", "0", "sales");
+        persist("s1-a", "s1", "sales");
+        persist("s1-a-x", "s1-a", "sales");
+        persist("s1-a-x-y", "s1-a-x", "sales");
+        persist("s1-b", "s1", "sales");
+        persist("s1_a", "s1", "sales");
+        persist("q1", "0", "QA");
+        persist("q1-a", "q1", "QA");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindSubtree_EveryLevelInDepthFirstOrder() {
+        List<OrgNodeDTO> subtree = empImpl.findSubtree("/s1/");
+
+        assertEquals(List.of("s1-a", "s1-a-x", "s1-a-x-y", "s1-b", "s1_a"), ids(subtree));
+        assertEquals(List.of(1, 2, 3, 1, 1), subtree.stream().map(OrgNodeDTO::getLevel).toList());
+        // '_' is matched literally, so s1_a does not pick up s1-a's reports
+        assertEquals(List.of(), ids(empImpl.findSubtree("/s1/s1_a/")));
+    }
+
+    @Test
+    void testFindSubtree_RangeScanOnPathIndex() {
+        String plan = String.valueOf(entityManager.createNativeQuery("EXPLAIN SELECT id FROM EmployeeManagerModel "
+                + "WHERE orgPath LIKE '/s1/s1-a/%' ESCAPE '!' ORDER BY orgPath").getSingleResult());
+
+        assertTrue(plan.toUpperCase().contains("IDX_EMPLOYEE_ORG_PATH"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void testFindOrgNodesByIds_AncestorsInOneLookup() {
+        List<String> ancestorIds = OrgPath.ancestorIds("/s1/s1-a/s1-a-x/s1-a-x-y/");
+
+        assertEquals(List.of("s1", "s1-a", "s1-a-x"), ancestorIds);
+        assertEquals(3, empImpl.findOrgNodesByIds(ancestorIds).size());
+    }
+
+    @Test
+    void testReassignManager_MovesWholeSubtree() {
+        EmployeeManagerModel lead = entityManager.find(EmployeeManagerModel.class, "s1-a");
+        long reportVersion = entityManager.find(EmployeeManagerModel.class, "s1-a-x-y").getVersion();
+        entityManager.clear();
+
+        assertTrue(empImpl.reassignManager(lead, "q1-a", LocalDateTime.now()));
+        entityManager.clear();
+
+        Map<String, EmployeeManagerModel> rows = new HashMap<>();
+        entityManager.createQuery("SELECT e FROM EmployeeManagerModel e", EmployeeManagerModel.class)
+                .getResultList().forEach(row -> rows.put(row.getId(), row));
+        assertEquals("q1-a", rows.get("s1-a").getManagerId());
+        assertEquals("/q1/q1-a/s1-a/", rows.get("s1-a").getOrgPath());
+        assertEquals("/q1/q1-a/s1-a/s1-a-x/s1-a-x-y/", rows.get("s1-a-x-y").getOrgPath());
+        assertEquals("s1-a-x", rows.get("s1-a-x-y").getManagerId());
+        assertEquals("QA", rows.get("s1-a-x-y").getDepartment());
+        assertEquals(reportVersion + 1, rows.get("s1-a-x-y").getVersion());
+        // Siblings stay where they were
+        assertEquals("/s1/s1-b/", rows.get("s1-b").getOrgPath());
+        assertEquals("sales", rows.get("s1-b").getDepartment());
+        assertEquals(List.of("s1-a", "s1-a-x", "s1-a-x-y"), ids(empImpl.findSubtree("/q1/q1-a/")));
+    }
+
+    @Test
+    void testReassignManager_RefusesLoops() {
+        EmployeeManagerModel lead = entityManager.find(EmployeeManagerModel.class, "s1-a");
+        entityManager.clear();
+
+        assertFalse(empImpl.reassignManager(lead, "s1-a-x-y", LocalDateTime.now()));
+        entityManager.clear();
+
+        assertEquals("/s1/s1-a/s1-a-x/s1-a-x-y/", entityManager.find(EmployeeManagerModel.class, "s1-a-x-y").getOrgPath());
+    }
+
+    @Test
+    void testReassignManager_RefusesLineWithoutTopLevelManager() {
+        // Its manager is gone, so its line does not start at a department's top-level manager
+        persist("orphan", "gone", "sales");
+        entityManager.flush();
+        EmployeeManagerModel lead = entityManager.find(EmployeeManagerModel.class, "s1-b");
+        entityManager.clear();
+
+        assertFalse(empImpl.reassignManager(lead, "orphan", LocalDateTime.now()));
+        entityManager.clear();
+
+        assertEquals("s1", entityManager.find(EmployeeManagerModel.class, "s1-b").getManagerId());
+    }
+
+    @Test
+    void testBackfill_FollowsReportingLinesOfAnyDepth() throws Exception {
+        entityManager.createNativeQuery("UPDATE EmployeeManagerModel SET orgPath = NULL WHERE id <> 's1'")
+                .executeUpdate();
+        // Its manager is gone, so it starts a path of its own
+        persist("orphan", "gone", "BA");
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE EmployeeManagerModel SET orgPath = NULL WHERE id = 'orphan'")
+                .executeUpdate();
+
+        Context context = mock(Context.class);
+        when(context.getConnection()).thenReturn(DataSourceUtils.getConnection(dataSource));
+        new V6__Backfill_org_path().migrate(context);
+        entityManager.clear();
+
+        assertEquals("/s1/s1-a/s1-a-x/s1-a-x-y/", entityManager.find(EmployeeManagerModel.class, "s1-a-x-y").getOrgPath());
+        assertEquals("/q1/q1-a/", entityManager.find(EmployeeManagerModel.class, "q1-a").getOrgPath());
+        assertEquals("/orphan/", entityManager.find(EmployeeManagerModel.class, "orphan").getOrgPath());
+    }
+
+    private static List<String> ids(List<OrgNodeDTO> nodes) {
+        return nodes.stream().map(OrgNodeDTO::getId).toList();
+    }
+
+    private void persist(String id, String managerId, String department) {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId(id);
+        employee.setName("Name " + id);
+        employee.setEmail(id.replace("_", "") + "@example.com");
+        employee.setDesignation("0".equals(managerId) ? "Account Manager" : "associate");
+        employee.setDepartment(department);
+        employee.setMobile("1234567890");
+        employee.setLocation("Delhi");
+        employee.setManagerId(managerId);
+        employee.setDateOfJoining(LocalDateTime.now().minusYears(2));
+        EmployeeManagerModel manager = "0".equals(managerId) ? null
+                : entityManager.find(EmployeeManagerModel.class, managerId);
+        employee.setOrgPath(manager != null ? OrgPath.child(manager.getOrgPath(), id) : OrgPath.root(id));
+        entityManager.persist(employee);
+    }
+}
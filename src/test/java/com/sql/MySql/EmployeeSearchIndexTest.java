@@ -0,0 +1,130 @@
+package com.sql.MySql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.sql.MySql.helpers.EmployeeSearchCriteria;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmpImpl;
+
+import jakarta.persistence.EntityManager;
+
+// Runs every combination of search filters through EmpImpl, then EXPLAINs the exact SQL Hibernate
+// generated. Criteria values are inlined so the captured statement can be explained as it is
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.sql.MySql.EmployeeSearchIndexTest$LastStatement" })
+@Import(EmpImpl.class)
+public class EmployeeSearchIndexTest {
+
+    private static final int FILTERS = 5;
+
+    @Autowired
+    private EmpImpl empImpl;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int m = 0; m < 5; m++) {
+            String department = List.of("sales", "delivery", "QA", "engineering", "BA").get(m);
+            entityManager.persist(employee("s" + m, "0", department, "Account Manager", "Delhi", 8));
+            for (int e = 0; e < 20; e++) {
+                entityManager.persist(employee("s" + m + "-" + e, "s" + m, department, e % 2 == 0 ? "associate" : "lead",
+                        e % 3 == 0 ? "Pune" : "Delhi", e / 4));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testSearch_CombinesFilters() {
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        criteria.setDepartment("delivery");
+        criteria.setDesignation("associate");
+        criteria.setLocation("Pune");
+        criteria.setJoinedFrom(LocalDate.now().minusYears(4));
+
+        List<EmployeeManagerModel> firstPage = empImpl.searchEmployees(criteria, null, 2);
+        List<EmployeeManagerModel> rest = empImpl.searchEmployees(criteria, firstPage.get(1).getId(), 10);
+
+        // Reports 0, 6, 12 and 18 of s1 are associates in Pune; 18 joined just over 4 years ago
+        assertEquals(List.of("s1-0", "s1-12"), firstPage.stream().map(EmployeeManagerModel::getId).toList());
+        assertEquals(List.of("s1-6"), rest.stream().map(EmployeeManagerModel::getId).toList());
+    }
+
+    @Test
+    void testSearch_EveryFilterCombinationUsesAnIndex() {
+        for (int mask = 1; mask < 1 << FILTERS; mask++) {
+            for (String lastId : new String[] { null, "s1" }) {
+                empImpl.searchEmployees(criteria(mask), lastId, 10);
+                String sql = LastStatement.sql.replace("?", "10");
+
+                String plan = String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+
+                assertFalse(plan.contains("tableScan"), "Table scan for " + sql + ": " + plan);
+                assertTrue(plan.toUpperCase().contains("IDX_EMPLOYEE_"), "No search index for " + sql + ": " + plan);
+            }
+        }
+    }
+
+    // Bit i of mask switches on filter i: department, designation, location, manager, joining-date range
+    private static EmployeeSearchCriteria criteria(int mask) {
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        if ((mask & 1) != 0) {
+            criteria.setDepartment("sales");
+        }
+        if ((mask & 2) != 0) {
+            criteria.setDesignation("associate");
+        }
+        if ((mask & 4) != 0) {
+            criteria.setLocation("Pune");
+        }
+        if ((mask & 8) != 0) {
+            criteria.setManagerId("s0");
+        }
+        if ((mask & 16) != 0) {
+            criteria.setJoinedFrom(LocalDate.now().minusYears(4));
+            criteria.setJoinedTo(LocalDate.now().minusYears(2));
+        }
+        return criteria;
+    }
+
+    private EmployeeManagerModel employee(String id, String managerId, String department, String designation,
+            String location, int years) {
+        EmployeeManagerModel employee = EmployeeFixtures.employee(id, managerId, department);
+        employee.setDesignation(designation);
+        employee.setLocation(location);
+        employee.setDateOfJoining(LocalDateTime.now().minusYears(years).minusDays(1));
+        return employee;
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            if (statement.startsWith("select") && statement.contains("EmployeeManagerModel")) {
+                sql = statement;
+            }
+            return statement;
+        }
+    }
+}
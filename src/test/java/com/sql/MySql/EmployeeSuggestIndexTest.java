@@ -0,0 +1,163 @@
+package com.sql.MySql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.services.EmployeeSuggestIndex;
+
+public class EmployeeSuggestIndexTest {
+
+    @Mock
+    private EmployeeManagerCustomRepository employeeManagerRepository;
+
+    @InjectMocks
+    private EmployeeSuggestIndex employeeSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(employeeSuggestIndex, "enabled", true);
+        ReflectionTestUtils.setField(employeeSuggestIndex, "maxEmployees", 10);
+
+        table(suggestion("1", "Anna Smith", "anna.smith@example.com"),
+                suggestion("2", "Ann Lee", "lee@example.com"),
+                suggestion("3", "Zoë Annan", "zoe@example.com"),
+                suggestion("4", "Bob Stone", "bstone@example.com"));
+        employeeSuggestIndex.rebuild();
+    }
+
+    @Test
+    void testSuggest_MatchesNameWordsAndEmail() {
+        assertEquals(Arrays.asList("2", "1", "3"), ids(employeeSuggestIndex.suggest("ann", 10)));
+        assertEquals(Arrays.asList("1"), ids(employeeSuggestIndex.suggest("anna s", 10)));
+        assertEquals(Arrays.asList("2"), ids(employeeSuggestIndex.suggest("lee@", 10)));
+        assertEquals(Arrays.asList("1", "4"), ids(employeeSuggestIndex.suggest("s", 10)));
+        assertEquals(Arrays.asList(), ids(employeeSuggestIndex.suggest("carl", 10)));
+    }
+
+    @Test
+    void testSuggest_FoldsCaseAndAccents() {
+        assertEquals(Arrays.asList("3"), ids(employeeSuggestIndex.suggest("ZOE", 10)));
+        assertEquals(Arrays.asList("3"), ids(employeeSuggestIndex.suggest("zoë a", 10)));
+    }
+
+    @Test
+    void testSuggest_StopsAtLimitWithoutDuplicates() {
+        // Anna Smith matches through both her name and her email but is listed once
+        assertEquals(Arrays.asList("2", "1"), ids(employeeSuggestIndex.suggest("a", 2)));
+        assertEquals(3, employeeSuggestIndex.suggest("a", 10).size());
+    }
+
+    @Test
+    void testWritesAreApplied() {
+        employeeSuggestIndex.employeeAdded(employee("5", "Annika Berg", "annika@example.com"));
+        assertEquals(Arrays.asList("2", "1", "3", "5"), ids(employeeSuggestIndex.suggest("ann", 10)));
+
+        employeeSuggestIndex.employeeDeleted("1");
+        assertEquals(Arrays.asList(), ids(employeeSuggestIndex.suggest("smith", 10)));
+        assertEquals(Arrays.asList(), ids(employeeSuggestIndex.suggest("anna.smith", 10)));
+    }
+
+    @Test
+    void testOverMaxEmployees_FallsBackToSql() {
+        ReflectionTestUtils.setField(employeeSuggestIndex, "maxEmployees", 3);
+        clearInvocations(employeeManagerRepository);
+
+        employeeSuggestIndex.rebuild();
+
+        assertFalse(employeeSuggestIndex.isReady());
+        assertEquals(0, employeeSuggestIndex.suggest("ann", 10).size());
+        // The count alone decides; the rows are never read
+        verify(employeeManagerRepository, never()).findAllSuggestions();
+    }
+
+    @Test
+    void testVerifyAgainstDatabase_TurnsIndexBackOnBelowMax() {
+        ReflectionTestUtils.setField(employeeSuggestIndex, "maxEmployees", 4);
+        employeeSuggestIndex.employeeAdded(employee("5", "Annika Berg", "annika@example.com"));
+        assertFalse(employeeSuggestIndex.isReady());
+
+        assertFalse(employeeSuggestIndex.verifyAgainstDatabase());
+
+        assertTrue(employeeSuggestIndex.isReady());
+        assertEquals(Arrays.asList("2", "1", "3"), ids(employeeSuggestIndex.suggest("ann", 10)));
+    }
+
+    @Test
+    void testVerifyAgainstDatabase_ReloadsOnDrift() {
+        assertTrue(employeeSuggestIndex.verifyAgainstDatabase());
+
+        // A rename the index never saw
+        table(suggestion("1", "Anna Jones", "anna.smith@example.com"),
+                suggestion("2", "Ann Lee", "lee@example.com"),
+                suggestion("3", "Zoë Annan", "zoe@example.com"),
+                suggestion("4", "Bob Stone", "bstone@example.com"));
+
+        assertFalse(employeeSuggestIndex.verifyAgainstDatabase());
+        assertEquals(Arrays.asList("1"), ids(employeeSuggestIndex.suggest("jones", 10)));
+    }
+
+    @Test
+    void testRebuild_KeepsWriteCommittedDuringLoad() {
+        List<EmployeeSuggestionDTO> before = List.of(suggestion("1", "Anna Smith", "anna.smith@example.com"));
+        List<EmployeeSuggestionDTO> after = List.of(suggestion("1", "Anna Smith", "anna.smith@example.com"),
+                suggestion("5", "Annika Berg", "annika@example.com"));
+        when(employeeManagerRepository.countEmployees()).thenReturn(1L, 2L);
+        when(employeeManagerRepository.findAllSuggestions())
+                .thenAnswer(invocation -> {
+                    employeeSuggestIndex.employeeAdded(employee("5", "Annika Berg", "annika@example.com"));
+                    return before;
+                })
+                .thenReturn(after);
+
+        employeeSuggestIndex.rebuild();
+
+        assertEquals(Arrays.asList("1", "5"), ids(employeeSuggestIndex.suggest("ann", 10)));
+    }
+
+    @Test
+    void testDisabled_IsNeverReady() {
+        assertTrue(employeeSuggestIndex.isReady());
+        ReflectionTestUtils.setField(employeeSuggestIndex, "enabled", false);
+
+        assertFalse(employeeSuggestIndex.isReady());
+    }
+
+    private List<String> ids(List<EmployeeSuggestionDTO> suggestions) {
+        return suggestions.stream().map(EmployeeSuggestionDTO::getId).toList();
+    }
+
+    private void table(EmployeeSuggestionDTO... rows) {
+        when(employeeManagerRepository.countEmployees()).thenReturn((long) rows.length);
+        when(employeeManagerRepository.findAllSuggestions()).thenReturn(List.of(rows));
+    }
+
+    private static EmployeeSuggestionDTO suggestion(String id, String name, String email) {
+        return new EmployeeSuggestionDTO(id, name, email);
+    }
+
+    private EmployeeManagerModel employee(String id, String name, String email) {
+        EmployeeManagerModel employee = EmployeeFixtures.employee(id, "0", "sales");
+        employee.setName(name);
+        employee.setEmail(email);
+        return employee;
+    }
+}
@@ -0,0 +1,214 @@
+package com.sql.MySql;
+
+import static com.sql.MySql.EmployeeFixtures.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.BatchEmployeeResultDTO;
+import com.sql.MySql.response.WriteStatusDTO;
+import com.sql.MySql.services.EmployeeManagerService;
+import com.sql.MySql.services.EmployeeValidator;
+import com.sql.MySql.services.EmployeeWritePipeline;
+import com.sql.MySql.services.WritePipelineStoppedException;
+import com.sql.MySql.services.WriteQueueFullException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class EmployeeWritePipelineTest {
+
+    @Mock
+    private EmployeeManagerService employeeService;
+
+    @Spy
+    private EmployeeValidator employeeValidator = new EmployeeValidator();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private EmployeeWritePipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(pipeline, "enabled", true);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 2);
+        ReflectionTestUtils.setField(pipeline, "flushSize", 10);
+        ReflectionTestUtils.setField(pipeline, "flushIntervalMs", 200L);
+        ReflectionTestUtils.setField(pipeline, "statusRetentionMinutes", 60L);
+        ReflectionTestUtils.setField(pipeline, "statusMaxEntries", 100L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Test
+    void testSubmit_BurstIsCommittedAsOneGroup() throws InterruptedException {
+        when(employeeService.addEmployees(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        pipeline.start();
+
+        WriteStatusDTO first = pipeline.submit(employee("1", "1", "sales"));
+        WriteStatusDTO second = pipeline.submit(employee("2", "1", "sales"));
+
+        assertEquals(WriteStatusDTO.PENDING, first.getStatus());
+        awaitStatus(second.getTrackingId(), BatchEmployeeResultDTO.CREATED);
+        // The timers are recorded after the statuses; joining the writer makes them visible
+        pipeline.stop();
+        verify(employeeService).addEmployees(argThat(employees -> employees.size() == 2));
+        assertEquals(1L, meterRegistry.get("employee.write.commit").timer().count());
+        assertEquals(2.0, meterRegistry.get("employee.write.group.size").summary().totalAmount());
+    }
+
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeService.addEmployees(anyList())).thenAnswer(invocation -> {
+            writerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        pipeline.start();
+
+        pipeline.submit(employee("1", "1", "sales"));
+        writerBusy.await(5, TimeUnit.SECONDS);
+        pipeline.submit(employee("2", "1", "sales"));
+        pipeline.submit(employee("3", "1", "sales"));
+
+        assertThrows(WriteQueueFullException.class, () -> pipeline.submit(employee("4", "1", "sales")));
+        assertEquals(1.0, meterRegistry.get("employee.write.queue.rejected").counter().count());
+        assertEquals(2.0, meterRegistry.get("employee.write.queue.depth").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    void testSubmit_InvalidPayloadIsNeverQueued() {
+        pipeline.start();
+        EmployeeManagerModel employee = employee("1", "1", "sales");
+        employee.setMobile("12");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> pipeline.submit(employee));
+
+        assertEquals("Invalid mobile number. It must be a 10-digit number.", exception.getMessage());
+        verify(employeeService, after(300).never()).addEmployees(anyList());
+        assertEquals(0.0, meterRegistry.get("employee.write.queue.depth").gauge().value());
+    }
+
+    @Test
+    void testFailedGroup_FallsBackToOneCommitPerEmployee() {
+        when(employeeService.addEmployees(anyList())).thenAnswer(invocation -> {
+            // As persist() would have before the transaction rolled back
+            List<EmployeeManagerModel> employees = invocation.getArgument(0);
+            employees.forEach(employee -> employee.setVersion(0L));
+            throw new IllegalStateException("Duplicate entry");
+        });
+        when(employeeService.addEmployee(any())).thenAnswer(invocation -> {
+            EmployeeManagerModel employee = invocation.getArgument(0);
+            assertNull(employee.getVersion());
+            if ("2".equals(employee.getId())) {
+                throw new IllegalArgumentException("Employee with this email already exists.");
+            }
+            return employee;
+        });
+        pipeline.start();
+
+        WriteStatusDTO first = pipeline.submit(employee("1", "1", "sales"));
+        WriteStatusDTO second = pipeline.submit(employee("2", "1", "sales"));
+
+        awaitStatus(first.getTrackingId(), BatchEmployeeResultDTO.CREATED);
+        WriteStatusDTO rejected = awaitStatus(second.getTrackingId(), BatchEmployeeResultDTO.REJECTED);
+        assertEquals("Employee with this email already exists.", rejected.getMessage());
+    }
+
+    @Test
+    void testSubmit_RefusedOnceStopped() throws InterruptedException {
+        pipeline.start();
+        pipeline.stop();
+
+        WritePipelineStoppedException exception = assertThrows(WritePipelineStoppedException.class,
+                () -> pipeline.submit(employee("1", "1", "sales")));
+
+        assertEquals("Employee writes are not being accepted while shutting down.", exception.getMessage());
+        assertEquals(0.0, meterRegistry.get("employee.write.queue.rejected").counter().count());
+    }
+
+    @Test
+    void testStatuses_BoundedInNumber() throws InterruptedException {
+        ReflectionTestUtils.setField(pipeline, "statusMaxEntries", 1L);
+        when(employeeService.addEmployees(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        pipeline.start();
+
+        WriteStatusDTO first = pipeline.submit(employee("1", "1", "sales"));
+        WriteStatusDTO second = pipeline.submit(employee("2", "1", "sales"));
+        pipeline.stop();
+        ((Cache<?, ?>) ReflectionTestUtils.getField(pipeline, "statuses")).cleanUp();
+
+        long kept = Stream.of(first, second).filter(status -> pipeline.getStatus(status.getTrackingId()) != null).count();
+        assertEquals(1, kept);
+    }
+
+    @Test
+    void testDisabled_NothingStarted() {
+        ReflectionTestUtils.setField(pipeline, "enabled", false);
+        pipeline.start();
+
+        assertNull(pipeline.getStatus("anything"));
+        assertNull(meterRegistry.find("employee.write.queue.depth").gauge());
+    }
+
+    private WriteStatusDTO awaitStatus(String trackingId, String expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        WriteStatusDTO status = pipeline.getStatus(trackingId);
+        while (!expected.equals(status.getStatus()) && System.currentTimeMillis() < deadline) {
+            sleep(10);
+            status = pipeline.getStatus(trackingId);
+        }
+        assertEquals(expected, status.getStatus());
+        return status;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<BatchEmployeeResultDTO> created(List<EmployeeManagerModel> employees) {
+        List<BatchEmployeeResultDTO> results = new ArrayList<>();
+        for (int index = 0; index < employees.size(); index++) {
+            results.add(new BatchEmployeeResultDTO(index, employees.get(index).getId(), BatchEmployeeResultDTO.CREATED,
+                    "Successfully created."));
+        }
+        return results;
+    }
+}
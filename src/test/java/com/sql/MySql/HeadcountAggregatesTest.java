@@ -0,0 +1,183 @@
+package com.sql.MySql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.models.TenureBand;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.response.HeadcountDTO;
+import com.sql.MySql.services.HeadcountAggregates;
+
+public class HeadcountAggregatesTest {
+
+    @Mock
+    private EmployeeManagerCustomRepository employeeManagerRepository;
+
+    @InjectMocks
+    private HeadcountAggregates headcountAggregates;
+
+    private final LocalDate today = LocalDate.of(2026, 10, 18);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(headcountAggregates, "enabled", true);
+
+        when(employeeManagerRepository.countByDepartmentManagerAndJoiningDate()).thenReturn(rows(
+                row("sales", "0", today.minusYears(12), 1),
+                row("sales", "1", today.minusYears(2), 3),
+                row("sales", "1", today.minusYears(1), 1),
+                row("sales", "1", today.minusMonths(3), 2),
+                row("qa", "2", null, 1)));
+        headcountAggregates.rebuild();
+    }
+
+    @Test
+    void testGetHeadcount_GroupsByTenureBand() {
+        HeadcountDTO headcount = headcountAggregates.getHeadcount(today);
+
+        assertEquals(8, headcount.getTotal());
+        assertEquals(List.of("qa|2|unknown:1", "sales|0|10y+:1", "sales|1|<1y:2", "sales|1|1-3y:4"),
+                groups(headcount));
+    }
+
+    @Test
+    void testGetHeadcount_BandsMoveWithTheDate() {
+        // A year on, the 3-month joiners have moved into 1-3y and the 2-year ones into 3-5y
+        assertEquals(List.of("qa|2|unknown:1", "sales|0|10y+:1", "sales|1|1-3y:3", "sales|1|3-5y:3"),
+                groups(headcountAggregates.getHeadcount(today.plusYears(1))));
+    }
+
+    @Test
+    void testGetHeadcount_FoldedOncePerChangeAndDay() {
+        HeadcountDTO first = headcountAggregates.getHeadcount(today);
+
+        assertSame(first, headcountAggregates.getHeadcount(today));
+        assertNotSame(first, headcountAggregates.getHeadcount(today.plusDays(1)));
+
+        HeadcountDTO beforeWrite = headcountAggregates.getHeadcount(today);
+        headcountAggregates.employeeAdded(employee("13", "1", "sales", 0));
+        HeadcountDTO afterWrite = headcountAggregates.getHeadcount(today);
+        assertNotSame(beforeWrite, afterWrite);
+        assertEquals(9, afterWrite.getTotal());
+    }
+
+    @Test
+    void testVerifyAgainstDatabase_KeepsChangeCommittedDuringLoad() {
+        EmployeeManagerModel employee = employee("13", "1", "sales", 0);
+        // The add commits after the first GROUP BY has read the table, so only the second one has it
+        List<Object[]> before = employeeManagerRepository.countByDepartmentManagerAndJoiningDate();
+        List<Object[]> after = new ArrayList<>(before);
+        after.add(row("sales", "1", today, 1));
+        when(employeeManagerRepository.countByDepartmentManagerAndJoiningDate())
+                .thenAnswer(invocation -> {
+                    headcountAggregates.employeeAdded(employee);
+                    return before;
+                })
+                .thenReturn(after);
+
+        assertTrue(headcountAggregates.verifyAgainstDatabase());
+
+        assertEquals(9, headcountAggregates.getHeadcount(today).getTotal());
+    }
+
+    @Test
+    void testWritesAreApplied() {
+        EmployeeManagerModel manager = employee("3", "0", "delivery", 6);
+        headcountAggregates.employeeAdded(manager);
+        EmployeeManagerModel employee = employee("13", "1", "sales", 0);
+        headcountAggregates.employeeAdded(employee);
+
+        employee.setManagerId("3");
+        employee.setDepartment("delivery");
+        headcountAggregates.managerChanged(employee, "1", "sales");
+        headcountAggregates.employeeDeleted(employee("10", "2", "QA", -1));
+
+        HeadcountDTO headcount = headcountAggregates.getHeadcount(today);
+        assertEquals(9, headcount.getTotal());
+        assertEquals(List.of("delivery|0|5-10y:1", "delivery|3|<1y:1", "sales|0|10y+:1", "sales|1|<1y:2",
+                "sales|1|1-3y:4"), groups(headcount));
+    }
+
+    @Test
+    void testDepartmentCase_OneCellAndNoDrift() {
+        headcountAggregates.employeeAdded(employee("13", "1", "Sales", 0));
+        headcountAggregates.employeeAdded(employee("14", "1", "SALES", 0));
+        when(employeeManagerRepository.countByDepartmentManagerAndJoiningDate()).thenReturn(rows(
+                row("sales", "0", today.minusYears(12), 1),
+                row("sales", "1", today.minusYears(2), 3),
+                row("sales", "1", today.minusYears(1), 1),
+                row("sales", "1", today.minusMonths(3), 2),
+                row("sales", "1", today, 2),
+                row("qa", "2", null, 1)));
+
+        assertEquals(List.of("qa|2|unknown:1", "sales|0|10y+:1", "sales|1|<1y:4", "sales|1|1-3y:4"),
+                groups(headcountAggregates.getHeadcount(today)));
+        assertTrue(headcountAggregates.verifyAgainstDatabase());
+    }
+
+    @Test
+    void testVerifyAgainstDatabase_ReloadsOnDrift() {
+        assertTrue(headcountAggregates.verifyAgainstDatabase());
+
+        // A write the aggregates never saw
+        when(employeeManagerRepository.countByDepartmentManagerAndJoiningDate()).thenReturn(rows(
+                row("sales", "0", today.minusYears(12), 1),
+                row("sales", "1", today.minusYears(2), 4)));
+
+        assertFalse(headcountAggregates.verifyAgainstDatabase());
+        assertEquals(List.of("sales|0|10y+:1", "sales|1|1-3y:4"), groups(headcountAggregates.getHeadcount(today)));
+        assertTrue(headcountAggregates.verifyAgainstDatabase());
+    }
+
+    @Test
+    void testTenureBand_Boundaries() {
+        assertEquals(TenureBand.UNDER_1, TenureBand.of(today.minusYears(1).plusDays(1), today));
+        assertEquals(TenureBand.FROM_1_TO_3, TenureBand.of(today.minusYears(1), today));
+        assertEquals(TenureBand.FROM_5_TO_10, TenureBand.of(today.minusYears(10).plusDays(1), today));
+        assertEquals(TenureBand.OVER_10, TenureBand.of(today.minusYears(10), today));
+        // Joining dates in the future count as new joiners
+        assertEquals(TenureBand.UNDER_1, TenureBand.of(today.plusDays(30), today));
+    }
+
+    private static List<String> groups(HeadcountDTO headcount) {
+        return headcount.getGroups().stream()
+                .map(group -> group.getDepartment() + "|" + group.getManagerId() + "|" + group.getTenure().getLabel()
+                        + ":" + group.getCount())
+                .toList();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static Object[] row(String department, String managerId, LocalDate joined, long count) {
+        return new Object[] { department, managerId, joined, count };
+    }
+
+    // years < 0 leaves the joining date unset
+    // Joined at noon, clear of any day boundary; negative years leave the joining date empty
+    private EmployeeManagerModel employee(String id, String managerId, String department, int years) {
+        EmployeeManagerModel employee = EmployeeFixtures.employee(id, managerId, department);
+        employee.setDateOfJoining(years >= 0 ? LocalDateTime.of(today.minusYears(years), LocalTime.NOON) : null);
+        return employee;
+    }
+}
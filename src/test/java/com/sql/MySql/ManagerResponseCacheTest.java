@@ -0,0 +1,150 @@
+package com.sql.MySql;
+
+import static com.sql.MySql.EmployeeFixtures.employee;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.sql.MySql.config.QueryMetricsInterceptor;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.services.EmployeeManagerService;
+import com.sql.MySql.services.ManagerResponseCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(properties = { "employee.hierarchy-cache.enabled=false", "employee.conditional-get.enabled=true" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class ManagerResponseCacheTest {
+
+    private static final List<String> IDS = List.of("916", "915", "914", "913", "912", "911", "910");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmployeeManagerService employeeService;
+
+    @Autowired
+    private EmployeeManagerRepository employeeManagerMainRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<EmployeeManagerModel> employees = new ArrayList<>();
+        employees.add(employee("910", "0", "engineering"));
+        for (int id = 911; id <= 915; id++) {
+            employees.add(employee(String.valueOf(id), "910", "engineering"));
+        }
+        employeeService.addEmployees(employees);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeManagerMainRepository.deleteAllById(IDS);
+    }
+
+    @Test
+    void testRepeatedRequest_ServedFromCachedBytes() throws Exception {
+        byte[] first = body(get("/api/managerWithYear").param("managerId", "910").param("year", "1"));
+        long queries = queries();
+        double hits = hits();
+
+        byte[] second = body(get("/api/managerWithYear").param("managerId", "910").param("year", "1"));
+
+        assertArrayEquals(first, second);
+        assertEquals(queries, queries());
+        assertEquals(hits + 1, hits());
+    }
+
+    @Test
+    void testAcceptGzip_SendsCompressedBytes() throws Exception {
+        byte[] plain = body(get("/api/managerWithYear").param("managerId", "910"));
+        assertTrue(plain.length >= 1024);
+
+        byte[] compressed = mockMvc.perform(get("/api/managerWithYear").param("managerId", "910")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(plain, gunzip.readAllBytes());
+        }
+        mockMvc.perform(get("/api/managerWithYear").param("managerId", "910")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testGzipBytes_CarryTheirOwnETag() throws Exception {
+        String plainTag = mockMvc.perform(get("/api/managerWithYear").param("managerId", "910"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String gzipTag = mockMvc.perform(get("/api/managerWithYear").param("managerId", "910")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals(plainTag.substring(0, plainTag.length() - 1) + "-gzip\"", gzipTag);
+        mockMvc.perform(get("/api/managerWithYear").param("managerId", "910")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzipTag));
+        mockMvc.perform(get("/api/managerWithYear").param("managerId", "910").header(HttpHeaders.IF_NONE_MATCH, plainTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, plainTag));
+    }
+
+    @Test
+    void testWrite_InvalidatesCachedBytes() throws Exception {
+        mockMvc.perform(get("/api/managerWithYear").param("managerId", "910"))
+                .andExpect(jsonPath("$.details[0].employeeList.length()").value(5));
+
+        employeeService.addEmployee(employee("916", "910", "engineering"));
+
+        mockMvc.perform(get("/api/managerWithYear").param("managerId", "910"))
+                .andExpect(jsonPath("$.details[0].employeeList.length()").value(6));
+    }
+
+    private byte[] body(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private long queries() {
+        return meterRegistry.find(QueryMetricsInterceptor.QUERY_TIMER).timers().stream()
+                .mapToLong(Timer::count).sum();
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tags("cache", ManagerResponseCache.CACHE_NAME, "result", "hit")
+                .functionCounter().count();
+    }
+}
@@ -3,12 +3,20 @@ package com.sql.MySql;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -16,28 +24,53 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.SpecHints;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import com.sql.MySql.config.VirtualThreadsConfig;
 import com.sql.MySql.controllers.EmployeeManagerController;
 import com.sql.MySql.handlers.GlobalExceptionHandler;
+import com.sql.MySql.helpers.EmployeeSearchCriteria;
 import com.sql.MySql.helpers.ManagerChangeRequest;
+import com.sql.MySql.models.EmployeeField;
 import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmpImpl;
 import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
 import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.response.BatchEmployeeResultDTO;
+import com.sql.MySql.response.EmployeeFieldsPageDTO;
+import com.sql.MySql.response.EmployeePageDTO;
 import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.response.HeadcountDTO;
 import com.sql.MySql.response.ManagerChangeResponseDTO;
+import com.sql.MySql.response.OrgNodeDTO;
 import com.sql.MySql.response.ResponseDTO;
 import com.sql.MySql.response.ResponseMessage;
 import com.sql.MySql.services.EmployeeManagerService;
+import com.sql.MySql.services.EmployeeDataVersion;
+import com.sql.MySql.services.EmployeeSuggestIndex;
+import com.sql.MySql.services.EmployeeValidator;
+import com.sql.MySql.services.HeadcountAggregates;
+import com.sql.MySql.services.OrgHierarchyIndex;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.TypedQuery;
 
 @SpringBootTest
 class MySqlApplicationTests {
@@ -48,6 +81,21 @@ class MySqlApplicationTests {
     @Mock
     private EmployeeManagerRepository employeeManagerMainRepository;
 
+    @Mock
+    private OrgHierarchyIndex orgHierarchyIndex;
+
+    @Mock
+    private EmployeeDataVersion dataVersion;
+
+    @Mock
+    private EmployeeSuggestIndex employeeSuggestIndex;
+
+    @Mock
+    private HeadcountAggregates headcountAggregates;
+
+    @Spy
+    private EmployeeValidator employeeValidator = new EmployeeValidator();
+
 	@InjectMocks
 	private EmployeeManagerService employeeService;
 
@@ -309,7 +357,8 @@ void testValidateEmployeeData_NullId() {
     // Act & Assert
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
             employeeService.validateEmployeeData(id, email, designation, mobileNumber, department));
-    assertEquals("Employee ID cannot be null.", exception.getMessage());
+    // Every format violation is reported together
+    assertEquals("Employee ID cannot be null. Designation can only be Account Manager or associate.", exception.getMessage());
 }
 
 @Test
@@ -317,7 +366,7 @@ void testValidateEmployeeData_EmployeeIdAlreadyExists() {
     // Arrange
     String id = "123";
     String email = "test@example.com";
-    String designation = "Developer";
+    String designation = "Associate";
     String mobileNumber = "1234567890";
     String department = "Engineering";
 
@@ -329,6 +378,17 @@ void testValidateEmployeeData_EmployeeIdAlreadyExists() {
     assertEquals("Employee with id 123 already exists.", exception.getMessage());
 }
 
+@Test
+void testValidateEmployeeData_FormatCheckedBeforeDatabase() {
+    // Act & Assert
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            employeeService.validateEmployeeData("1", "not-an-email", "Associate", "12ab", "HR"));
+    assertEquals("Invalid department. Must be one of: sales, delivery, QA, engineering, BA. "
+            + "Invalid email format. Invalid mobile number. It must be a 10-digit number.", exception.getMessage());
+    verify(employeeManagerMainRepository, times(0)).existsById("1");
+    verify(employeeManagerMainRepository, times(0)).existsByEmail("not-an-email");
+}
+
 @Test
 void testValidateEmployeeData_ValidData() {
     // Arrange
@@ -365,7 +425,9 @@ void testValidateEmployeeData_ValidData() {
 		// Assert
 		assertNotNull(result);
 		assertEquals("new.manager@example.com", result.getEmail());
-		verify(employeeManagerMainRepository, times(1)).save(employee);
+		assertEquals("/1/", result.getOrgPath());
+		verify(employeeManagerMainRepository, times(1)).saveAndFlush(employee);
+		verify(employeeManagerRepository, never()).findManagerByDepartment(any());
 	}
 
     @Test
@@ -382,6 +444,7 @@ void testValidateEmployeeData_ValidData() {
         EmployeeManagerModel manager = new EmployeeManagerModel();
         manager.setManagerId("2"); // Manager is a top-level manager
         manager.setDepartment("Sales");
+        manager.setOrgPath("/2/");
     
         // Corrected the misplaced parenthesis
         when(employeeManagerRepository.findByExistingManagerId("2")).thenReturn(manager);
@@ -392,7 +455,10 @@ void testValidateEmployeeData_ValidData() {
         // Assert
         assertNotNull(result);
         assertEquals("employee@example.com", result.getEmail());
-        verify(employeeManagerMainRepository, times(1)).save(employee);
+        assertEquals("/2/1/", result.getOrgPath());
+        verify(employeeManagerMainRepository, times(1)).saveAndFlush(employee);
+        verify(employeeManagerMainRepository, never()).existsById(any());
+        verify(employeeManagerMainRepository, never()).existsByEmail(any());
     }
     
     @Test
@@ -458,7 +524,7 @@ void testValidateEmployeeData_ValidData() {
         EmployeeManagerModel employee = new EmployeeManagerModel();
         employee.setId("1");
         employee.setEmail("test@example.com");
-        employee.setDesignation("Account Manager");
+        employee.setDesignation("Associate"); // Account Manager is refused under any manager
         employee.setMobile("1234567890");
         employee.setDepartment("Engineering"); // Matching department
         employee.setManagerId("2"); // Valid manager
@@ -635,14 +701,36 @@ void testValidateEmployeeData_ValidData() {
         assertEquals("Designation cannot be Account Manager for an employee with a valid manager ID.",
                 exception.getMessage());
     }
+
+    @Test
+    void testAddEmployee_UnderNestedManager_DepartmentMustMatch() {
+        // Arrange
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId("1");
+        employee.setEmail("employee@example.com");
+        employee.setDesignation("Associate");
+        employee.setMobile("1234567890");
+        employee.setDepartment("QA");
+        employee.setManagerId("3");
+
+        EmployeeManagerModel manager = new EmployeeManagerModel();
+        manager.setManagerId("2"); // A team lead, not a top-level manager
+        manager.setDepartment("Sales");
+        manager.setOrgPath("/2/3/");
+
+        when(employeeManagerRepository.findByExistingManagerId("3")).thenReturn(manager);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.addEmployee(employee));
+        assertEquals("Employee's department does not match the manager's department.", exception.getMessage());
+        verify(employeeManagerMainRepository, never()).saveAndFlush(any());
+    }
     
     @Test
     void testAddEmployee_ThrowsExceptionWhenDepartmentAlreadyHasManager() {
         // Arrange
         String department = "Sales";
-        EmployeeManagerModel existingManager = new EmployeeManagerModel();
-        existingManager.setDepartment(department);
-        existingManager.setManagerId("1");
     
         EmployeeManagerModel employee = new EmployeeManagerModel();
         employee.setId("1");
@@ -652,8 +740,9 @@ void testValidateEmployeeData_ValidData() {
         employee.setDepartment("Sales");
         employee.setManagerId("0");
     
-        // Mock the repository behavior
-        when(employeeManagerRepository.findManagerByDepartment(department)).thenReturn(existingManager);
+        // The unique index rejects the insert
+        when(employeeManagerMainRepository.saveAndFlush(employee))
+                .thenThrow(constraintViolation("PUBLIC.UK_EMPLOYEE_DEPARTMENT_MANAGER ON PUBLIC.EMPLOYEEMANAGERMODEL"));
     
         // Act and Assert
         IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> {
@@ -664,6 +753,49 @@ void testValidateEmployeeData_ValidData() {
         assertEquals("Department " + department + " already has a manager.", thrown.getMessage());
     }
     
+    @Test
+    void testAddEmployee_DuplicateEmailRejectedByInsert() {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId("1");
+        employee.setEmail("taken@example.com");
+        employee.setDesignation("Account Manager");
+        employee.setMobile("1234567890");
+        employee.setDepartment("Sales");
+        employee.setManagerId("0");
+
+        when(employeeManagerMainRepository.saveAndFlush(employee))
+                .thenThrow(constraintViolation("employeemanagermodel.uk_employee_email"));
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.addEmployee(employee));
+        assertEquals("Employee with email taken@example.com already exists.", thrown.getMessage());
+        verify(orgHierarchyIndex, never()).employeeAdded(any());
+    }
+
+    @Test
+    void testAddEmployee_DuplicateIdRejectedByInsert() {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId("1");
+        employee.setEmail("new.manager@example.com");
+        employee.setDesignation("Account Manager");
+        employee.setMobile("1234567890");
+        employee.setDepartment("Sales");
+        employee.setManagerId("0");
+
+        when(employeeManagerMainRepository.saveAndFlush(employee))
+                .thenThrow(constraintViolation("employeemanagermodel.PRIMARY"));
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.addEmployee(employee));
+        assertEquals("Employee with id 1 already exists.", thrown.getMessage());
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("duplicate"),
+                        constraintName));
+    }
+
     @Test
     void testGetAllEmployees() {
         // Arrange
@@ -694,6 +826,259 @@ void testValidateEmployeeData_ValidData() {
         assertEquals("employee2@example.com", result.get(1).getEmail());
     }
  
+    @Test
+    void testGetEmployeesPage_FirstPageHasNextCursor() {
+        // Arrange
+        EmployeeManagerModel employee1 = new EmployeeManagerModel();
+        employee1.setId("1");
+        EmployeeManagerModel employee2 = new EmployeeManagerModel();
+        employee2.setId("2");
+        EmployeeManagerModel employee3 = new EmployeeManagerModel();
+        employee3.setId("3");
+
+        when(employeeManagerRepository.getEmployeesAfterId(null, 3))
+                .thenReturn(new ArrayList<>(Arrays.asList(employee1, employee2, employee3)));
+
+        // Act
+        EmployeePageDTO page = employeeService.getEmployeesPage(null, 2);
+
+        // Assert
+        assertEquals(2, page.getEmployees().size());
+        assertNotNull(page.getNextCursor());
+
+        // The cursor resumes after the last id of the page
+        when(employeeManagerRepository.getEmployeesAfterId("2", 3)).thenReturn(new ArrayList<>(Arrays.asList(employee3)));
+        EmployeePageDTO nextPage = employeeService.getEmployeesPage(page.getNextCursor(), 2);
+        assertEquals(1, nextPage.getEmployees().size());
+        assertEquals(null, nextPage.getNextCursor());
+    }
+
+    @Test
+    void testGetEmployeesPage_InvalidLimit() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.getEmployeesPage(null, 0));
+        assertEquals("Limit must be between 1 and " + EmployeeManagerService.MAX_PAGE_SIZE + ".", exception.getMessage());
+    }
+
+    @Test
+    void testGetEmployeeFieldsPage_ProjectsRequestedFields() {
+        List<EmployeeField> fields = List.of(EmployeeField.NAME, EmployeeField.DEPARTMENT);
+        when(employeeManagerRepository.getEmployeeFieldsAfterId(fields, null, 2)).thenReturn(new ArrayList<>(Arrays.asList(
+                new Object[] { "1", "John", "sales" }, new Object[] { "2", "Jane", "QA" })));
+
+        EmployeeFieldsPageDTO page = employeeService.getEmployeeFieldsPage(" name,department,name ", null, 1);
+
+        assertEquals(fields, page.getFields());
+        assertEquals(1, page.getRows().size());
+        // The cursor comes from the id every projected row starts with
+        when(employeeManagerRepository.getEmployeeFieldsAfterId(fields, "1", 2)).thenReturn(new ArrayList<>());
+        assertEquals(0, employeeService.getEmployeeFieldsPage("name,department", page.getNextCursor(), 1).getRows().size());
+    }
+
+    @Test
+    void testGetEmployeeFieldsPage_UnknownField() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.getEmployeeFieldsPage("id,version,salary", null, 10));
+        assertTrue(exception.getMessage().startsWith("Unknown fields: version, salary."));
+        verify(employeeManagerRepository, never()).getEmployeeFieldsAfterId(any(), any(), anyInt());
+    }
+
+    @Test
+    void testSearchEmployees_PagesWithCursor() {
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        criteria.setDepartment("sales");
+        EmployeeManagerModel employee1 = new EmployeeManagerModel();
+        employee1.setId("1");
+        EmployeeManagerModel employee2 = new EmployeeManagerModel();
+        employee2.setId("2");
+
+        when(employeeManagerRepository.searchEmployees(criteria, null, 2))
+                .thenReturn(new ArrayList<>(Arrays.asList(employee1, employee2)));
+
+        EmployeePageDTO page = employeeService.searchEmployees(criteria, null, 1);
+
+        assertEquals(1, page.getEmployees().size());
+        when(employeeManagerRepository.searchEmployees(criteria, "1", 2)).thenReturn(new ArrayList<>(Arrays.asList(employee2)));
+        EmployeePageDTO nextPage = employeeService.searchEmployees(criteria, page.getNextCursor(), 1);
+        assertEquals("2", nextPage.getEmployees().get(0).getId());
+        assertEquals(null, nextPage.getNextCursor());
+    }
+
+    @Test
+    void testSearchEmployees_InvalidJoiningRange() {
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        criteria.setJoinedFrom(LocalDate.of(2024, 1, 2));
+        criteria.setJoinedTo(LocalDate.of(2024, 1, 1));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.searchEmployees(criteria, null, 10));
+        assertEquals("joinedFrom must not be after joinedTo.", exception.getMessage());
+    }
+
+    @Test
+    void testSuggestEmployees_UsesIndexWhenReady() {
+        List<EmployeeSuggestionDTO> suggestions = List.of(new EmployeeSuggestionDTO("1", "Anna", "anna@example.com"));
+        when(employeeSuggestIndex.isReady()).thenReturn(true);
+        when(employeeSuggestIndex.suggest("An", EmployeeManagerService.DEFAULT_SUGGEST_LIMIT)).thenReturn(suggestions);
+
+        assertEquals(suggestions, employeeService.suggestEmployees("An", null));
+        verify(employeeManagerRepository, never()).findSuggestions(any(), anyInt());
+    }
+
+    @Test
+    void testSuggestEmployees_FallsBackToSql() {
+        when(employeeSuggestIndex.isReady()).thenReturn(false);
+
+        employeeService.suggestEmployees(" ÉMI ", 5);
+
+        verify(employeeManagerRepository).findSuggestions("emi", 5);
+    }
+
+    @Test
+    void testSuggestEmployees_InvalidInput() {
+        assertEquals("Query must not be blank.", assertThrows(IllegalArgumentException.class,
+                () -> employeeService.suggestEmployees(" ", null)).getMessage());
+        assertEquals("Limit must be between 1 and " + EmployeeManagerService.MAX_SUGGEST_LIMIT + ".",
+                assertThrows(IllegalArgumentException.class, () -> employeeService.suggestEmployees("a", 51)).getMessage());
+    }
+
+    @Test
+    void testGetHeadcount_UsesAggregatesWhenReady() {
+        HeadcountDTO headcount = new HeadcountDTO(LocalDate.now(), 0, List.of());
+        when(headcountAggregates.isReady()).thenReturn(true);
+        when(headcountAggregates.getHeadcount(any(LocalDate.class))).thenReturn(headcount);
+
+        assertEquals(headcount, employeeService.getHeadcount());
+        verify(headcountAggregates, never()).getHeadcountFromDatabase(any());
+    }
+
+    @Test
+    void testGetHeadcount_FallsBackToGroupBy() {
+        when(headcountAggregates.isReady()).thenReturn(false);
+
+        employeeService.getHeadcount();
+
+        verify(headcountAggregates).getHeadcountFromDatabase(LocalDate.now());
+    }
+
+    @Test
+    void testGetAncestors_FromTheTopDown() {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setOrgPath("/1/2/3/4/");
+        when(employeeManagerRepository.findByIdCustom("4")).thenReturn(employee);
+        when(employeeManagerRepository.findOrgNodesByIds(List.of("1", "2", "3"))).thenReturn(List.of(
+                orgNode("3", "/1/2/3/"), orgNode("1", "/1/"), orgNode("2", "/1/2/")));
+
+        List<OrgNodeDTO> ancestors = employeeService.getAncestors("4");
+
+        assertEquals(List.of("1", "2", "3"), ancestors.stream().map(OrgNodeDTO::getId).toList());
+        assertEquals(List.of(0, 1, 2), ancestors.stream().map(OrgNodeDTO::getLevel).toList());
+    }
+
+    @Test
+    void testGetSubtree_UnknownEmployee() {
+        when(employeeManagerRepository.findByIdCustom("99")).thenReturn(null);
+
+        assertNull(employeeService.getSubtree("99"));
+        assertNull(employeeService.getAncestors("99"));
+        verify(employeeManagerRepository, never()).findSubtree(any());
+    }
+
+    @Test
+    void testAddEmployee_IdWithPathSeparator() {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId("a/b");
+        employee.setEmail("slash@example.com");
+        employee.setDesignation("Account Manager");
+        employee.setMobile("1234567890");
+        employee.setDepartment("sales");
+        employee.setManagerId("0");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.addEmployee(employee));
+
+        assertEquals("Employee ID cannot contain '/'.", exception.getMessage());
+    }
+
+    private static OrgNodeDTO orgNode(String id, String orgPath) {
+        return new OrgNodeDTO(id, "Name " + id, "associate", id + "@example.com", "sales", null, null, orgPath);
+    }
+
+    @Test
+    void testGetEmployeesPage_InvalidCursor() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.getEmployeesPage("not*base64", 10));
+        assertEquals("Invalid cursor.", exception.getMessage());
+    }
+
+    @Test
+    void testAddEmployees_ValidatesWholeBatchWithSetQueries() {
+        // Arrange
+        EmployeeManagerModel manager = new EmployeeManagerModel();
+        manager.setId("1");
+        manager.setManagerId("0");
+        manager.setDepartment("sales");
+
+        EmployeeManagerModel valid = batchEmployee("10", "ten@example.com", "1", "sales");
+        EmployeeManagerModel duplicateId = batchEmployee("11", "eleven@example.com", "1", "sales");
+        EmployeeManagerModel duplicateInBatch = batchEmployee("10", "other@example.com", "1", "sales");
+        EmployeeManagerModel wrongDepartment = batchEmployee("12", "twelve@example.com", "1", "QA");
+        EmployeeManagerModel unknownManager = batchEmployee("13", "thirteen@example.com", "99", "sales");
+
+        when(employeeManagerRepository.findExistingIds(any())).thenReturn(Arrays.asList("11"));
+        when(employeeManagerRepository.findExistingEmails(any())).thenReturn(new ArrayList<>());
+        when(employeeManagerRepository.findManagersByIdsOrDepartments(any(), any())).thenReturn(Arrays.asList(manager));
+
+        // Act
+        List<BatchEmployeeResultDTO> results = employeeService.addEmployees(
+                Arrays.asList(valid, duplicateId, duplicateInBatch, wrongDepartment, unknownManager));
+
+        // Assert
+        assertEquals(BatchEmployeeResultDTO.CREATED, results.get(0).getStatus());
+        assertEquals("Employee with id 11 already exists.", results.get(1).getMessage());
+        assertEquals("Employee with id 10 already exists.", results.get(2).getMessage());
+        assertEquals("Employee's department does not match the manager's department.", results.get(3).getMessage());
+        assertEquals("Manager with ID 99 does not exist.", results.get(4).getMessage());
+        verify(employeeManagerRepository, times(1)).findExistingIds(any());
+        verify(employeeManagerRepository, times(1)).findExistingEmails(any());
+        verify(employeeManagerRepository, times(1)).findManagersByIdsOrDepartments(any(), any());
+        verify(employeeManagerRepository).persistAll(Arrays.asList(valid));
+    }
+
+    @Test
+    void testAddEmployees_NewManagerInSameBatch() {
+        EmployeeManagerModel manager = batchEmployee("1", "manager@example.com", "0", "QA");
+        manager.setDesignation("Account Manager");
+        EmployeeManagerModel report = batchEmployee("2", "report@example.com", "1", "QA");
+        EmployeeManagerModel secondManager = batchEmployee("3", "second@example.com", "0", "QA");
+        secondManager.setDesignation("Account Manager");
+
+        List<BatchEmployeeResultDTO> results = employeeService.addEmployees(Arrays.asList(manager, report, secondManager));
+
+        assertEquals(BatchEmployeeResultDTO.CREATED, results.get(0).getStatus());
+        assertEquals(BatchEmployeeResultDTO.CREATED, results.get(1).getStatus());
+        assertEquals("Department QA already has a manager.", results.get(2).getMessage());
+    }
+
+    @Test
+    void testAddEmployees_EmptyBatch() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> employeeService.addEmployees(new ArrayList<>()));
+        assertEquals("Batch must contain between 1 and " + EmployeeManagerService.MAX_BATCH_SIZE + " employees.",
+                exception.getMessage());
+    }
+
+    private EmployeeManagerModel batchEmployee(String id, String email, String managerId, String department) {
+        EmployeeManagerModel employee = new EmployeeManagerModel();
+        employee.setId(id);
+        employee.setEmail(email);
+        employee.setDesignation("associate");
+        employee.setMobile("1234567890");
+        employee.setDepartment(department);
+        employee.setManagerId(managerId);
+        return employee;
+    }
+
 	// delete an employee
 	// ==========================================================================================================
 
@@ -776,7 +1161,7 @@ void testChangeManager_EmployeeNotFound() {
     // Arrange
     String empId = "1";
     String newManagerId = "2";
-    when(employeeManagerMainRepository.findById(empId)).thenReturn(null);
+    when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.empty());
 
     // Act
     ManagerChangeResponseDTO response = employeeService.changeManager(empId, newManagerId);
@@ -806,16 +1191,22 @@ void testChangeManager_OldManagerExists_NewManagerFound() {
     EmployeeManagerModel employee = new EmployeeManagerModel();
     employee.setName("Employee");
     employee.setManagerId(oldManagerId);
+    employee.setDepartment("sales");
+    newManager.setDepartment("QA");
 
     when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.of(employee));
     when(employeeManagerMainRepository.findById(oldManagerId)).thenReturn(Optional.of(oldManager));
     when(employeeManagerMainRepository.findById(newManagerId)).thenReturn(Optional.of(newManager));
+    when(employeeManagerRepository.reassignManager(eq(employee), eq(newManagerId), any(LocalDateTime.class))).thenReturn(true);
 
     // Act
     ManagerChangeResponseDTO response = employeeService.changeManager(empId, newManagerId);
 
     // Assert
     assertEquals("Employee's manager has been succesfully changed from Old Manager to New Manager", response.getMessage());
+    // Headcounts move from the old manager and department to the new ones
+    verify(headcountAggregates).managerChanged(employee, oldManagerId, "sales");
+    assertEquals("QA", employee.getDepartment());
 }
 
 @Test
@@ -858,15 +1249,17 @@ void testChangeManager_NewManagerIsInvalid() {
     oldManager.setName("Old Manager");
     oldManager.setManagerId("0");
 
-    // Mock new manager
+    // Mock new manager, who reports to the employee
     EmployeeManagerModel newManager = new EmployeeManagerModel();
     newManager.setName("New Manager");
-    newManager.setManagerId("1"); // Invalid managerId
+    newManager.setManagerId(empId);
+    newManager.setOrgPath("/2/1/3/");
 
     // Mock employee
     EmployeeManagerModel employee = new EmployeeManagerModel();
     employee.setName("Employee");
     employee.setManagerId(oldManagerId);
+    employee.setOrgPath("/2/1/");
 
     when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.of(employee));
     when(employeeManagerMainRepository.findById(oldManagerId)).thenReturn(Optional.of(oldManager));
@@ -878,7 +1271,119 @@ void testChangeManager_NewManagerIsInvalid() {
     });
 
     // Assert
+    assertEquals("Cannot move an employee under themselves or one of their reports.", thrown.getMessage());
+    verify(employeeManagerRepository, never()).reassignManager(any(), any(), any());
+}
+
+@Test
+void testChangeManager_NewManagerOutsideADepartmentLine() {
+    // Arrange
+    String empId = "1";
+    String oldManagerId = "2";
+    String newManagerId = "3";
+
+    EmployeeManagerModel oldManager = new EmployeeManagerModel();
+    oldManager.setName("Old Manager");
+    oldManager.setManagerId("0");
+
+    // Their manager has left, so their line is not headed by a top-level manager
+    EmployeeManagerModel newManager = new EmployeeManagerModel();
+    newManager.setName("Orphan");
+    newManager.setManagerId("9");
+    newManager.setDepartment("QA");
+    newManager.setOrgPath("/3/");
+
+    EmployeeManagerModel employee = new EmployeeManagerModel();
+    employee.setName("Employee");
+    employee.setManagerId(oldManagerId);
+    employee.setOrgPath("/2/1/");
+
+    when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.of(employee));
+    when(employeeManagerMainRepository.findById(oldManagerId)).thenReturn(Optional.of(oldManager));
+    when(employeeManagerMainRepository.findById(newManagerId)).thenReturn(Optional.of(newManager));
+
+    // Act
+    IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> {
+        employeeService.changeManager(empId, newManagerId);
+    });
+
+    // Assert: the UPDATE refuses the move, and the line is only looked at once it has
     assertEquals("New manager must be a valid manager of the department.", thrown.getMessage());
+    verify(employeeManagerRepository, times(1)).reassignManager(eq(employee), eq(newManagerId), any(LocalDateTime.class));
+}
+
+@Test
+void testChangeManager_NestsUnderAnotherReport() {
+    // Arrange
+    String empId = "1";
+    String oldManagerId = "2";
+    String newManagerId = "3";
+
+    EmployeeManagerModel oldManager = new EmployeeManagerModel();
+    oldManager.setName("Old Manager");
+    oldManager.setManagerId("0");
+
+    // An associate in another department's tree can take reports too
+    EmployeeManagerModel newManager = new EmployeeManagerModel();
+    newManager.setName("Team Lead");
+    newManager.setManagerId("4");
+    newManager.setDepartment("QA");
+    newManager.setOrgPath("/4/3/");
+
+    EmployeeManagerModel employee = new EmployeeManagerModel();
+    employee.setId(empId);
+    employee.setName("Employee");
+    employee.setManagerId(oldManagerId);
+    employee.setDepartment("sales");
+    employee.setOrgPath("/2/1/");
+
+    List<OrgNodeDTO> reports = List.of(new OrgNodeDTO("5", "Report", "associate", "r@example.com", "sales", empId,
+            LocalDateTime.now(), "/2/1/5/"));
+    when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.of(employee));
+    when(employeeManagerMainRepository.findById(oldManagerId)).thenReturn(Optional.of(oldManager));
+    when(employeeManagerMainRepository.findById(newManagerId)).thenReturn(Optional.of(newManager));
+    when(headcountAggregates.isReady()).thenReturn(true);
+    when(employeeManagerRepository.findSubtree("/2/1/")).thenReturn(reports);
+    when(employeeManagerRepository.reassignManager(eq(employee), eq(newManagerId), any(LocalDateTime.class))).thenReturn(true);
+
+    // Act
+    ManagerChangeResponseDTO response = employeeService.changeManager(empId, newManagerId);
+
+    // Assert
+    assertEquals("Employee's manager has been succesfully changed from Old Manager to Team Lead", response.getMessage());
+    verify(headcountAggregates).managerChanged(employee, oldManagerId, "sales");
+    verify(headcountAggregates).reportsMoved(reports, "sales", "QA");
+    // The UPDATE checks the new manager's line itself, so its head is never read
+    verify(employeeManagerMainRepository, never()).findById("4");
+}
+
+@Test
+void testChangeManager_OldManagerMissing() {
+    // Arrange
+    String empId = "1";
+    String oldManagerId = "2";
+    String newManagerId = "3";
+
+    EmployeeManagerModel newManager = new EmployeeManagerModel();
+    newManager.setName("New Manager");
+    newManager.setManagerId("0");
+
+    EmployeeManagerModel employee = new EmployeeManagerModel();
+    employee.setName("John Doe");
+    employee.setManagerId(oldManagerId);
+
+    when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.of(employee));
+    when(employeeManagerMainRepository.findById(oldManagerId)).thenReturn(Optional.empty());
+    when(employeeManagerMainRepository.findById(newManagerId)).thenReturn(Optional.of(newManager));
+
+    // Act
+    IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> {
+        employeeService.changeManager(empId, newManagerId);
+    });
+
+    // Assert
+    assertEquals("Current manager with id 2 of employee 1 does not exist.", thrown.getMessage());
+    verify(employeeManagerRepository, never()).reassignManager(any(), any(), any());
 }
 
 @Test
@@ -934,13 +1439,82 @@ void testChangeManager_SuccessfulManagerChange() {
     when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.of(employee));
     when(employeeManagerMainRepository.findById(oldManagerId)).thenReturn(Optional.of(oldManager));
     when(employeeManagerMainRepository.findById(newManagerId)).thenReturn(Optional.of(newManager));
+    when(employeeManagerRepository.reassignManager(eq(employee), eq(newManagerId), any(LocalDateTime.class))).thenReturn(true);
 
     // Act
     ManagerChangeResponseDTO response = employeeService.changeManager(empId, newManagerId);
 
     // Assert
     assertEquals("John Doe's manager has been succesfully changed from Old Manager to New Manager", response.getMessage());
-    verify(employeeManagerMainRepository, times(1)).save(employee);
+    verify(employeeManagerRepository, times(1)).reassignManager(eq(employee), eq(newManagerId), any(LocalDateTime.class));
+    verify(employeeManagerMainRepository, never()).save(any());
+}
+
+@Test
+void testChangeManager_RetriesAfterConcurrentUpdate() {
+    // Arrange
+    String empId = "1";
+    String oldManagerId = "2";
+    String newManagerId = "3";
+
+    EmployeeManagerModel oldManager = new EmployeeManagerModel();
+    oldManager.setName("Old Manager");
+    oldManager.setManagerId("0");
+
+    EmployeeManagerModel newManager = new EmployeeManagerModel();
+    newManager.setName("New Manager");
+    newManager.setManagerId("0");
+
+    EmployeeManagerModel employee = new EmployeeManagerModel();
+    employee.setName("John Doe");
+    employee.setManagerId(oldManagerId);
+
+    when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.of(employee));
+    when(employeeManagerMainRepository.findById(oldManagerId)).thenReturn(Optional.of(oldManager));
+    when(employeeManagerMainRepository.findById(newManagerId)).thenReturn(Optional.of(newManager));
+    // First attempt loses to another writer, the second one applies
+    when(employeeManagerRepository.reassignManager(eq(employee), eq(newManagerId), any(LocalDateTime.class)))
+            .thenReturn(false, true);
+
+    // Act
+    ManagerChangeResponseDTO response = employeeService.changeManager(empId, newManagerId);
+
+    // Assert
+    assertEquals("John Doe's manager has been succesfully changed from Old Manager to New Manager", response.getMessage());
+    verify(employeeManagerMainRepository, times(2)).findById(empId);
+    verify(orgHierarchyIndex, times(1)).managerChanged(employee, oldManagerId);
+}
+
+@Test
+void testChangeManager_GivesUpAfterRepeatedConflicts() {
+    // Arrange
+    String empId = "1";
+    String oldManagerId = "2";
+    String newManagerId = "3";
+
+    EmployeeManagerModel oldManager = new EmployeeManagerModel();
+    oldManager.setName("Old Manager");
+    oldManager.setManagerId("0");
+
+    EmployeeManagerModel newManager = new EmployeeManagerModel();
+    newManager.setName("New Manager");
+    newManager.setManagerId("0");
+
+    EmployeeManagerModel employee = new EmployeeManagerModel();
+    employee.setName("John Doe");
+    employee.setManagerId(oldManagerId);
+
+    when(employeeManagerMainRepository.findById(empId)).thenReturn(Optional.of(employee));
+    when(employeeManagerMainRepository.findById(oldManagerId)).thenReturn(Optional.of(oldManager));
+    when(employeeManagerMainRepository.findById(newManagerId)).thenReturn(Optional.of(newManager));
+    when(employeeManagerRepository.reassignManager(eq(employee), eq(newManagerId), any(LocalDateTime.class)))
+            .thenReturn(false);
+
+    // Act & Assert
+    assertThrows(OptimisticLockException.class, () -> employeeService.changeManager(empId, newManagerId));
+    verify(employeeManagerRepository, times(EmployeeManagerService.MAX_CHANGE_MANAGER_ATTEMPTS))
+            .reassignManager(eq(employee), eq(newManagerId), any(LocalDateTime.class));
+    verify(orgHierarchyIndex, never()).managerChanged(any(), any());
 }
 
 @Test
@@ -984,15 +1558,15 @@ void testManagerWithExperience_ManagerAndExperienceProvided() {
     manager.setName("Manager Name");
     manager.setDepartment("Department");
 
-    List<EmployeeManagerModel> employees = new ArrayList<>();
-    EmployeeManagerModel employee = new EmployeeManagerModel();
+    List<EmployeeResponseDTO> employees = new ArrayList<>();
+    EmployeeResponseDTO employee = new EmployeeResponseDTO();
     employee.setId("10");
     employee.setName("Employee Name");
     employee.setDepartment("Department");
     employees.add(employee);
 
     when(employeeManagerRepository.findByExistingManagerId(managerId)).thenReturn(manager);
-    when(employeeManagerRepository.getEmployeesByManagerIdAndJoiningDate(managerId, LocalDateTime.now().minusYears(minYearsOfExperience)))
+    when(employeeManagerRepository.findEmployeeDTOsByManagerIdAndJoiningDate(eq(managerId), any(LocalDateTime.class)))
             .thenReturn(employees);
 
     // Act
@@ -1020,15 +1594,15 @@ void testManagerWithExperience_ManagerIdOnly() {
     manager.setDepartment("Department");
     manager.setManagerId("0");
 
-    List<EmployeeManagerModel> employees = new ArrayList<>();
-    EmployeeManagerModel employee = new EmployeeManagerModel();
+    List<EmployeeResponseDTO> employees = new ArrayList<>();
+    EmployeeResponseDTO employee = new EmployeeResponseDTO();
     employee.setId("10");
     employee.setName("Employee Name");
     employee.setDepartment("Department");
     employees.add(employee);
 
     when(employeeManagerRepository.findByExistingManagerId(managerId)).thenReturn(manager);
-    when(employeeManagerRepository.findByManagerId(managerId)).thenReturn(employees);
+    when(employeeManagerRepository.findEmployeeDTOsByManagerId(managerId)).thenReturn(employees);
 
     // Act
     ResponseDTO responseDTO = employeeService.managerWithExperience(managerId, null);
@@ -1091,24 +1665,25 @@ void testManagerWithExperience_ExperienceOnly() {
 	String managerId = "1";
     Integer minYearsOfExperience = 5;
 
-	List<EmployeeManagerModel> managers = new ArrayList<>();
     EmployeeManagerModel manager = new EmployeeManagerModel();
     manager.setId(managerId);
     manager.setName("Manager Name");
     manager.setDepartment("Department");
 	manager.setManagerId("0");
-	managers.add(manager);
 
-    List<EmployeeManagerModel> employees = new ArrayList<>();
-    EmployeeManagerModel employee = new EmployeeManagerModel();
+    List<EmployeeResponseDTO> employees = new ArrayList<>();
+    EmployeeResponseDTO employee = new EmployeeResponseDTO();
     employee.setId("10");
     employee.setName("Employee Name");
     employee.setDepartment("Department");
     employees.add(employee);
 
-    when(employeeManagerRepository.findByManagerId("0")).thenReturn(managers);
-    when(employeeManagerRepository.getEmployeesByManagerIdAndJoiningDate(managerId, LocalDateTime.now().minusYears(minYearsOfExperience)))
-            .thenReturn(employees);
+    ResponseDTO.Details managerDetails = new ResponseDTO.Details();
+    managerDetails.setId(manager.getId());
+    managerDetails.setAccountManager(manager.getName());
+    managerDetails.setDepartment(manager.getDepartment());
+    managerDetails.setEmployeeList(employees);
+    when(employeeManagerRepository.findManagersWithEmployees(any(LocalDateTime.class))).thenReturn(List.of(managerDetails));
 
     // Act
     ResponseDTO responseDTO = employeeService.managerWithExperience(null, minYearsOfExperience);
@@ -1123,6 +1698,17 @@ void testManagerWithExperience_ExperienceOnly() {
     assertEquals("Department", details.getDepartment());
 }
 
+@Test
+void testManagerWithExperience_CutoffIsStartOfDay() {
+    when(employeeManagerRepository.findManagersWithEmployees(any(LocalDateTime.class))).thenReturn(List.of());
+
+    employeeService.managerWithExperience(null, 3);
+
+    // Whole days only, so the body (and its dated ETag) can change at midnight and at no other time
+    verify(employeeManagerRepository).findManagersWithEmployees(LocalDate.now().minusYears(3).atStartOfDay());
+    assertEquals(LocalDateTime.of(2023, 2, 28, 0, 0), EmployeeManagerService.joinedBy(3, LocalDate.of(2026, 2, 28)));
+}
+
 @Test
 void testManagerWithExperience_NeitherProvided() {
     // Arrange
@@ -1131,18 +1717,19 @@ void testManagerWithExperience_NeitherProvided() {
     manager.setName("Manager Name");
     manager.setDepartment("Department");
 
-    List<EmployeeManagerModel> managers = new ArrayList<>();
-    managers.add(manager);
-
-    List<EmployeeManagerModel> employees = new ArrayList<>();
-    EmployeeManagerModel employee = new EmployeeManagerModel();
+    List<EmployeeResponseDTO> employees = new ArrayList<>();
+    EmployeeResponseDTO employee = new EmployeeResponseDTO();
     employee.setId("10");
     employee.setName("Employee Name");
     employee.setDepartment("Department");
     employees.add(employee);
 
-    when(employeeManagerRepository.findByManagerId("0")).thenReturn(managers);
-    when(employeeManagerRepository.findByManagerId(manager.getId())).thenReturn(employees);
+    ResponseDTO.Details managerDetails = new ResponseDTO.Details();
+    managerDetails.setId(manager.getId());
+    managerDetails.setAccountManager(manager.getName());
+    managerDetails.setDepartment(manager.getDepartment());
+    managerDetails.setEmployeeList(employees);
+    when(employeeManagerRepository.findManagersWithEmployees(null)).thenReturn(List.of(managerDetails));
 
     // Act
     ResponseDTO responseDTO = employeeService.managerWithExperience(null, null);
@@ -1166,6 +1753,11 @@ void testManagerWithExperience_BothValid() {
     String managerId = "1";
     Integer minYearsOfExperience = 5;
 
+    EmployeeManagerModel manager = new EmployeeManagerModel();
+    manager.setId(managerId);
+    manager.setManagerId("0");
+    when(employeeManagerRepository.findByExistingManagerId(managerId)).thenReturn(manager);
+
     // Act & Assert
     assertDoesNotThrow(() -> {
         employeeService.managerWithExperience(managerId, minYearsOfExperience);
@@ -1193,15 +1785,15 @@ void testManagerWithExperience_ManagerIdValid_MinYearsOfExperienceNull() {
     manager.setName("Manager Name");
     manager.setDepartment("Department");
 
-    List<EmployeeManagerModel> employees = new ArrayList<>();
-    EmployeeManagerModel employee = new EmployeeManagerModel();
+    List<EmployeeResponseDTO> employees = new ArrayList<>();
+    EmployeeResponseDTO employee = new EmployeeResponseDTO();
     employee.setId("10");
     employee.setName("Employee Name");
     employee.setDepartment("Department");
     employees.add(employee);
 
     when(employeeManagerRepository.findByExistingManagerId(managerId)).thenReturn(manager);
-    when(employeeManagerRepository.findByManagerId(managerId)).thenReturn(employees);
+    when(employeeManagerRepository.findEmployeeDTOsByManagerId(managerId)).thenReturn(employees);
 
     // Act & Assert
     assertDoesNotThrow(() -> {
@@ -1451,6 +2043,58 @@ void testHandleValidationExceptions() {
         assertEquals(errorMessage, responseEntity.getBody().getMessage());
     }
 
+    @Test
+    void testVirtualThreads_RefusedBeforeJava21() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> VirtualThreadsConfig.requireSupport(17));
+
+        assertEquals("spring.threads.virtual.enabled=true needs Java 21 or later, but this runtime is Java 17. "
+                + "Run on Java 21 or set the property to false.", exception.getMessage());
+        assertDoesNotThrow(() -> VirtualThreadsConfig.requireSupport(21));
+    }
+
+    @Test
+    void testHandleQueryTimeoutException() {
+        globalExceptionHandler = new GlobalExceptionHandler();
+
+        ResponseEntity<ResponseMessage> responseEntity = globalExceptionHandler
+                .handleQueryTimeoutException(new QueryTimeoutException("Statement cancelled"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+        assertEquals("1", responseEntity.getHeaders().getFirst("Retry-After"));
+        assertEquals("The query took too long. Retry shortly.", responseEntity.getBody().getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindManagersWithEmployees_ReportTimeoutIsSetOnTheQuery() {
+        EntityManager entityManager = mock(EntityManager.class);
+        TypedQuery<Object[]> query = mock(TypedQuery.class);
+        when(entityManager.createQuery(any(String.class), eq(Object[].class))).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+        EmpImpl empImpl = new EmpImpl(entityManager);
+        ReflectionTestUtils.setField(empImpl, "reportQueryTimeoutMs", 30000);
+
+        empImpl.findManagersWithEmployees(null);
+
+        verify(query).setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, 30000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindManagersWithEmployees_NoTimeoutWhenZero() {
+        EntityManager entityManager = mock(EntityManager.class);
+        TypedQuery<Object[]> query = mock(TypedQuery.class);
+        when(entityManager.createQuery(any(String.class), eq(Object[].class))).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+        EmpImpl empImpl = new EmpImpl(entityManager);
+        ReflectionTestUtils.setField(empImpl, "reportQueryTimeoutMs", 30000);
+
+        empImpl.findManagersWithEmployees(null, 0);
+
+        verify(query, never()).setHint(eq(SpecHints.HINT_SPEC_QUERY_TIMEOUT), any());
+    }
+
 
 
 
@@ -0,0 +1,217 @@
+package com.sql.MySql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.ResponseDTO;
+import com.sql.MySql.services.OrgHierarchyIndex;
+
+public class OrgHierarchyIndexTest {
+
+    @Mock
+    private EmployeeManagerCustomRepository employeeManagerRepository;
+
+    @InjectMocks
+    private OrgHierarchyIndex orgHierarchyIndex;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(orgHierarchyIndex, "enabled", true);
+
+        when(employeeManagerRepository.findManagersWithEmployees(null, 0)).thenReturn(List.of(
+                details("1", report("10", 1), report("11", 5), report("12", 3))));
+        orgHierarchyIndex.rebuild();
+    }
+
+    @Test
+    void testGetManager_ReportsSortedByJoiningDate() {
+        ResponseDTO.Details details = orgHierarchyIndex.getManager("1", null);
+
+        assertEquals("Manager 1", details.getAccountManager());
+        assertEquals(Arrays.asList("11", "12", "10"), ids(details));
+    }
+
+    @Test
+    void testGetManager_ExperienceFilter() {
+        assertEquals(Arrays.asList("11", "12"), ids(orgHierarchyIndex.getManager("1", now.minusYears(2))));
+        assertEquals(Arrays.asList(), ids(orgHierarchyIndex.getManager("1", now.minusYears(6))));
+        assertNull(orgHierarchyIndex.getManager("99", null));
+    }
+
+    @Test
+    void testWritesAreApplied() {
+        EmployeeManagerModel manager = employee("2", "0", 8);
+        orgHierarchyIndex.employeeAdded(manager);
+        EmployeeManagerModel employee = employee("13", "1", 4);
+        orgHierarchyIndex.employeeAdded(employee);
+
+        assertEquals(Arrays.asList("11", "13", "12", "10"), ids(orgHierarchyIndex.getManager("1", null)));
+        assertEquals(2, orgHierarchyIndex.getAllManagers(null).size());
+
+        employee.setManagerId("2");
+        orgHierarchyIndex.managerChanged(employee, "1");
+        assertEquals(Arrays.asList("13"), ids(orgHierarchyIndex.getManager("2", null)));
+
+        orgHierarchyIndex.employeeDeleted("13", "2");
+        orgHierarchyIndex.employeeDeleted("2", "0");
+        assertEquals(1, orgHierarchyIndex.getAllManagers(null).size());
+    }
+
+    @Test
+    void testVerifyAgainstDatabase_RebuildsOnDrift() {
+        assertTrue(orgHierarchyIndex.verifyAgainstDatabase());
+
+        when(employeeManagerRepository.findManagersWithEmployees(null, 0)).thenReturn(List.of(
+                details("1", report("10", 1))));
+
+        assertFalse(orgHierarchyIndex.verifyAgainstDatabase());
+        assertEquals(Arrays.asList("10"), ids(orgHierarchyIndex.getManager("1", null)));
+    }
+
+    @Test
+    void testVerifyAgainstDatabase_NoticesReportFieldDrift() {
+        EmployeeResponseDTO moved = report("11", 5);
+        moved.setDepartment("QA");
+        when(employeeManagerRepository.findManagersWithEmployees(null, 0)).thenReturn(List.of(
+                details("1", report("10", 1), moved, report("12", 3))));
+
+        assertFalse(orgHierarchyIndex.verifyAgainstDatabase());
+        assertEquals("QA", orgHierarchyIndex.getManager("1", null).getEmployeeList().get(0).getDepartment());
+    }
+
+    @Test
+    void testVerifyAgainstDatabase_KeepsWriteCommittedDuringLoad() {
+        EmployeeManagerModel employee = employee("13", "1", 4);
+        // The write commits after the first query has read the table, so only the second one has it
+        when(employeeManagerRepository.findManagersWithEmployees(null, 0))
+                .thenAnswer(invocation -> {
+                    orgHierarchyIndex.employeeAdded(employee);
+                    return List.of(details("1", report("10", 1), report("11", 5), report("12", 3)));
+                })
+                .thenReturn(List.of(details("1", report("10", 1), report("11", 5), report("12", 3),
+                        report("13", 4))));
+
+        orgHierarchyIndex.verifyAgainstDatabase();
+
+        assertEquals(Arrays.asList("11", "13", "12", "10"), ids(orgHierarchyIndex.getManager("1", null)));
+    }
+
+    @Test
+    void testRebuild_KeepsWriteCommittedBeforeReady() {
+        ReflectionTestUtils.setField(orgHierarchyIndex, "ready", false);
+        EmployeeManagerModel employee = employee("13", "1", 4);
+        when(employeeManagerRepository.findManagersWithEmployees(null, 0))
+                .thenAnswer(invocation -> {
+                    orgHierarchyIndex.employeeAdded(employee);
+                    return List.of(details("1", report("10", 1)));
+                })
+                .thenReturn(List.of(details("1", report("10", 1), report("13", 4))));
+
+        orgHierarchyIndex.rebuild();
+
+        assertEquals(Arrays.asList("13", "10"), ids(orgHierarchyIndex.getManager("1", null)));
+    }
+
+    @Test
+    void testVerifyAgainstDatabase_WritersNeverWaitOnTheQuery() {
+        // Every load is overtaken by a write from another thread, which has to get through while it runs
+        when(employeeManagerRepository.findManagersWithEmployees(null, 0)).thenAnswer(invocation -> {
+            Thread writer = new Thread(() -> orgHierarchyIndex.employeeAdded(employee("2", "0", 8)));
+            writer.start();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(writer.isAlive());
+            return List.of(details("1", report("10", 1)));
+        });
+
+        assertTrue(orgHierarchyIndex.verifyAgainstDatabase());
+
+        // Overtaken every time, so nothing was swapped in; the writes were applied as they came
+        assertEquals(Arrays.asList("11", "12", "10"), ids(orgHierarchyIndex.getManager("1", null)));
+        assertEquals(2, orgHierarchyIndex.getAllManagers(null).size());
+    }
+
+    @Test
+    void testRebuild_OvertakenEveryTime_BuiltAtTheNextCheck() {
+        ReflectionTestUtils.setField(orgHierarchyIndex, "ready", false);
+        when(employeeManagerRepository.findManagersWithEmployees(null, 0)).thenAnswer(invocation -> {
+            orgHierarchyIndex.employeeAdded(employee("13", "1", 4));
+            return List.of(details("1", report("10", 1)));
+        });
+
+        orgHierarchyIndex.rebuild();
+        assertFalse(orgHierarchyIndex.isReady());
+
+        when(employeeManagerRepository.findManagersWithEmployees(null, 0)).thenReturn(List.of(
+                details("1", report("10", 1), report("13", 4))));
+        orgHierarchyIndex.verifyAgainstDatabase();
+
+        assertTrue(orgHierarchyIndex.isReady());
+        assertEquals(Arrays.asList("13", "10"), ids(orgHierarchyIndex.getManager("1", null)));
+    }
+
+    @Test
+    void testDisabled_IsNeverReady() {
+        ReflectionTestUtils.setField(orgHierarchyIndex, "enabled", false);
+
+        assertFalse(orgHierarchyIndex.isReady());
+    }
+
+    @Test
+    void testRebuild_UsesItsOwnLoadTimeout() {
+        ReflectionTestUtils.setField(orgHierarchyIndex, "loadTimeoutMs", 600000);
+        when(employeeManagerRepository.findManagersWithEmployees(null, 600000)).thenReturn(List.of(
+                details("2", report("20", 1))));
+
+        orgHierarchyIndex.rebuild();
+
+        assertEquals(Arrays.asList("20"), ids(orgHierarchyIndex.getManager("2", null)));
+    }
+
+    private List<String> ids(ResponseDTO.Details details) {
+        return details.getEmployeeList().stream().map(EmployeeResponseDTO::getId).toList();
+    }
+
+    private ResponseDTO.Details details(String managerId, EmployeeResponseDTO... reports) {
+        ResponseDTO.Details details = new ResponseDTO.Details();
+        details.setId(managerId);
+        details.setAccountManager("Manager " + managerId);
+        details.setDepartment("sales");
+        details.setEmployeeList(new ArrayList<>(Arrays.asList(reports)));
+        return details;
+    }
+
+    private EmployeeResponseDTO report(String id, int years) {
+        EmployeeResponseDTO dto = new EmployeeResponseDTO();
+        dto.setId(id);
+        dto.setDateOfJoining(now.minusYears(years));
+        return dto;
+    }
+
+    private EmployeeManagerModel employee(String id, String managerId, int years) {
+        EmployeeManagerModel employee = EmployeeFixtures.employee(id, managerId, "sales");
+        employee.setDateOfJoining(now.minusYears(years));
+        return employee;
+    }
+}
@@ -0,0 +1,125 @@
+package com.sql.MySql;
+
+import static com.sql.MySql.EmployeeFixtures.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.services.ReactiveEmployeeService;
+
+import reactor.test.StepVerifier;
+
+// Rows are written through JPA and read back over R2DBC from the same in-memory H2 database
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    @Autowired
+    private EmployeeManagerRepository employeeManagerMainRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeManagerMainRepository.save(employee("901", "0", "sales", 10));
+        employeeManagerMainRepository.save(employee("902", "901", "sales", 5));
+        employeeManagerMainRepository.save(employee("903", "901", "sales", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeManagerMainRepository.deleteAllById(List.of("901", "902", "903"));
+    }
+
+    @Test
+    void testStreamEmployees_WritesNdjsonInIdOrder() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/employees"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("901", objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("Name 903", objectMapper.readTree(lines[2]).get("name").asText());
+    }
+
+    @Test
+    void testStreamEmployees_EmitsOnlyWhatIsRequested() {
+        StepVerifier.create(reactiveEmployeeService.streamEmployees(), 1)
+                .expectNextMatches(employee -> "901".equals(employee.getId()))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testManagerWithYear_FiltersByExperience() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/managerWithYear").param("managerId", "901")
+                        .param("year", "3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Successfully fetched"))
+                .andExpect(jsonPath("$.details[0].accountManager").value("Name 901"))
+                .andExpect(jsonPath("$.details[0].employeeList.length()").value(1))
+                .andExpect(jsonPath("$.details[0].employeeList[0].id").value("902"));
+    }
+
+    @Test
+    void testManagerWithYear_AllManagers() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/managerWithYear"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.details.length()").value(1))
+                .andExpect(jsonPath("$.details[0].id").value("901"))
+                .andExpect(jsonPath("$.details[0].employeeList.length()").value(2));
+    }
+
+    @Test
+    void testManagerWithYear_UnknownManager() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/managerWithYear").param("managerId", "404"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid Manager ID"));
+    }
+}
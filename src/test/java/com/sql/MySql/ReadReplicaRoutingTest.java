@@ -0,0 +1,121 @@
+package com.sql.MySql;
+
+import static com.sql.MySql.EmployeeFixtures.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sql.MySql.config.ReadYourWritesFilter;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.services.EmployeeManagerService;
+
+import jakarta.servlet.http.Cookie;
+
+// Two in-memory databases stand in for primary and replica; the replica never receives the writes,
+// so whichever one a read lands on is visible from its result
+@SpringBootTest(properties = {
+        "employee.datasource.replica.jdbc-url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "employee.datasource.replica.username=sa",
+        "employee.hierarchy-cache.enabled=false" })
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private EmployeeManagerService employeeService;
+
+    @Autowired
+    @Qualifier("dataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void seedReplica() {
+        DataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).load().migrate();
+        new JdbcTemplate(replica).update("INSERT INTO EmployeeManagerModel (id, name, email, department, managerId, version) "
+                + "VALUES ('r-1', 'Replica Only', 'replica@example.com', 'sales', '0', 0) ");
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM EmployeeManagerModel WHERE id LIKE '70%'");
+    }
+
+    @Test
+    void testReadOnlyTransactions_ReadFromReplica() {
+        employeeService.addEmployee(employee("701", "0", "sales"));
+
+        assertEquals(1, new JdbcTemplate(primaryDataSource)
+                .queryForObject("SELECT COUNT(*) FROM EmployeeManagerModel WHERE id = '701'", Integer.class));
+        assertEquals(List.of("r-1"), employeeService.getAllEmployees().stream().map(EmployeeManagerModel::getId).toList());
+        assertThrows(IllegalArgumentException.class, () -> employeeService.managerWithExperience("701", null));
+    }
+
+    @Test
+    void testChangeManager_ReadsFromPrimary() {
+        employeeService.addEmployee(employee("701", "0", "sales"));
+        employeeService.addEmployee(employee("702", "701", "sales"));
+        employeeService.addEmployee(employee("703", "0", "QA"));
+
+        assertEquals("Name 702's manager has been succesfully changed from Name 701 to Name 703",
+                employeeService.changeManager("702", "703").getMessage());
+    }
+
+    @Test
+    void testResponseCache_BuildsBodiesOnPrimary() throws Exception {
+        employeeService.addEmployee(employee("701", "0", "sales"));
+
+        // No cookie, yet the body cached under the new data version has the write the replica lacks
+        mockMvc.perform(get("/api/managerWithYear").param("managerId", "701"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.details[0].id").value("701"));
+    }
+
+    @Test
+    void testReadYourWrites_CookiePinsReadsToPrimary() throws Exception {
+        Cookie readFromPrimary = mockMvc.perform(post("/api/newEmployee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employee("701", "0", "sales"))))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        mockMvc.perform(get("/api/employees").param("unpaged", "true").cookie(readFromPrimary))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("701"));
+
+        mockMvc.perform(get("/api/employees").param("unpaged", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value("r-1"));
+    }
+}
@@ -4,6 +4,7 @@ import com.sql.MySql.models.EmployeeManagerModel;
 import com.sql.MySql.repositories.EmpImpl;
 import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
 import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.response.EmployeeResponseDTO;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
@@ -187,6 +188,31 @@ void testFindByManagerId() {
     verify(mockTypedQuery).getResultList();
 }
 
+@Test
+void testFindEmployeeDTOsByManagerId() {
+    // Arrange
+    String managerId = "10";
+    EmployeeResponseDTO employee = new EmployeeResponseDTO();
+    employee.setId("20");
+
+    List<EmployeeResponseDTO> employees = Arrays.asList(employee);
+
+    TypedQuery<EmployeeResponseDTO> mockTypedQuery = mock(TypedQuery.class);
+    when(mockTypedQuery.getResultList()).thenReturn(employees);
+
+    when(entityManager.createQuery(anyString(), eq(EmployeeResponseDTO.class)))
+        .thenReturn(mockTypedQuery);
+
+    // Act
+    List<EmployeeResponseDTO> result = empImpl.findEmployeeDTOsByManagerId(managerId);
+
+    // Assert
+    assertEquals(1, result.size());
+    assertEquals("20", result.get(0).getId());
+    verify(entityManager).createQuery(anyString(), eq(EmployeeResponseDTO.class));
+    verify(mockTypedQuery).setParameter("managerId", managerId);
+}
+
 @Test
 void testGetEmployeesByDepartment() {
     // Arrange
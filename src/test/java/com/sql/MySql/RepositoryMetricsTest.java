@@ -0,0 +1,100 @@
+package com.sql.MySql;
+
+import static com.sql.MySql.EmployeeFixtures.employee;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sql.MySql.config.QueryMetricsInterceptor;
+import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.services.EmployeeManagerService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(properties = "employee.hierarchy-cache.enabled=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class RepositoryMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmployeeManagerService employeeService;
+
+    @Autowired
+    private EmployeeManagerRepository employeeManagerMainRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeService.addEmployee(employee("601", "0", "BA"));
+        employeeService.addEmployee(employee("602", "601", "BA"));
+        employeeService.addEmployee(employee("603", "601", "BA"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeManagerMainRepository.deleteAllById(List.of("603", "602", "601"));
+    }
+
+    @Test
+    void testEmpImplCalls_TimedAndRowsCounted() {
+        long before = calls("EmpImpl.findEmployeeDTOsByManagerId");
+
+        employeeService.managerWithExperience("601", null);
+
+        assertEquals(before + 1, calls("EmpImpl.findEmployeeDTOsByManagerId"));
+        DistributionSummary rows = meterRegistry.get(QueryMetricsInterceptor.ROWS_SUMMARY)
+                .tag("query", "EmpImpl.findEmployeeDTOsByManagerId").summary();
+        assertEquals(2.0, rows.max());
+    }
+
+    @Test
+    void testSpringDataCalls_Timed() {
+        long before = calls("EmployeeManagerRepository.findById");
+
+        employeeManagerMainRepository.findById("601");
+
+        assertEquals(before + 1, calls("EmployeeManagerRepository.findById"));
+        // save() is timed but has no rows summary
+        assertNull(meterRegistry.find(QueryMetricsInterceptor.ROWS_SUMMARY)
+                .tag("query", "EmployeeManagerRepository.saveAndFlush").summary());
+    }
+
+    @Test
+    void testPrometheusScrape_IncludesQueryAndPoolMetrics() throws Exception {
+        employeeService.managerWithExperience("601", null);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("employee_repository_query_seconds_count{outcome=\"success\",query=\"EmpImpl.findByExistingManagerId\""));
+        assertTrue(scrape.contains("employee_repository_rows_count{query=\"EmpImpl.findEmployeeDTOsByManagerId\""));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_count"));
+    }
+
+    private long calls(String query) {
+        Timer timer = meterRegistry.find(QueryMetricsInterceptor.QUERY_TIMER)
+                .tags("query", query, "outcome", "success").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
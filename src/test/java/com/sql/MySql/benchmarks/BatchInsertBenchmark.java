@@ -0,0 +1,84 @@
+package com.sql.MySql.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sql.MySql.MySqlApplication;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.BatchEmployeeResultDTO;
+import com.sql.MySql.services.EmployeeManagerService;
+
+// Rows per second through the service: one addEmployee per row against one addEmployees for ROWS rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    static final int ROWS = 100;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeManagerService employeeService;
+
+    // Every invocation inserts new rows, so ids keep counting up across iterations
+    private long nextId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MySqlApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.properties.hibernate.generate_statistics=false");
+        employeeService = context.getBean(EmployeeManagerService.class);
+        employeeService.addEmployee(BenchmarkData.employee("1", "0", LocalDateTime.now().minusYears(10)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public EmployeeManagerModel singleRow() {
+        EmployeeManagerModel last = null;
+        for (EmployeeManagerModel employee : nextEmployees()) {
+            last = employeeService.addEmployee(employee);
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<BatchEmployeeResultDTO> batch() {
+        return employeeService.addEmployees(nextEmployees());
+    }
+
+    private List<EmployeeManagerModel> nextEmployees() {
+        List<EmployeeManagerModel> employees = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(BenchmarkData.employee("b" + nextId++, "1", LocalDateTime.now().minusYears(i % 10)));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,20 @@
+package com.sql.MySql.benchmarks;
+
+import java.time.LocalDateTime;
+
+import com.sql.MySql.EmployeeFixtures;
+import com.sql.MySql.models.EmployeeManagerModel;
+
+final class BenchmarkData {
+
+    static final String[] DEPARTMENTS = { "sales", "delivery", "QA", "engineering", "BA" };
+
+    private BenchmarkData() {
+    }
+
+    static EmployeeManagerModel employee(String id, String managerId, LocalDateTime dateOfJoining) {
+        EmployeeManagerModel employee = EmployeeFixtures.employee(id, managerId, "sales");
+        employee.setDateOfJoining(dateOfJoining);
+        return employee;
+    }
+}
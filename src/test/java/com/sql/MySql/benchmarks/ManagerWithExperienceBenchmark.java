@@ -0,0 +1,93 @@
+package com.sql.MySql.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sql.MySql.MySqlApplication;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.ResponseDTO;
+import com.sql.MySql.services.EmployeeManagerService;
+
+// End to end through the service against the H2 stand-in from src/test/resources
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ManagerWithExperienceBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean hierarchyCache;
+
+    @Param({ "5" })
+    private int managerCount;
+
+    @Param({ "150" })
+    private int employeesPerManager;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeManagerService employeeService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MySqlApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--employee.hierarchy-cache.enabled=" + hierarchyCache,
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+        employeeService = context.getBean(EmployeeManagerService.class);
+
+        List<EmployeeManagerModel> employees = new ArrayList<>();
+        for (int m = 1; m <= managerCount; m++) {
+            EmployeeManagerModel manager = BenchmarkData.employee(String.valueOf(m), "0", LocalDateTime.now().minusYears(10));
+            manager.setDepartment(BenchmarkData.DEPARTMENTS[m % BenchmarkData.DEPARTMENTS.length]);
+            employees.add(manager);
+            for (int e = 0; e < employeesPerManager; e++) {
+                EmployeeManagerModel employee = BenchmarkData.employee(m + "-" + e, String.valueOf(m),
+                        LocalDateTime.now().minusYears(e % 10));
+                employee.setDepartment(manager.getDepartment());
+                employees.add(employee);
+            }
+        }
+        employeeService.addEmployees(employees);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseDTO allManagers() {
+        return employeeService.managerWithExperience(null, null);
+    }
+
+    @Benchmark
+    public ResponseDTO allManagersWithExperience() {
+        return employeeService.managerWithExperience(null, 3);
+    }
+
+    @Benchmark
+    public ResponseDTO singleManagerWithExperience() {
+        return employeeService.managerWithExperience("1", 3);
+    }
+}
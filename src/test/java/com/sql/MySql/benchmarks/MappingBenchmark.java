@@ -0,0 +1,51 @@
+package com.sql.MySql.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.services.EmployeeManagerService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({ "10", "1000" })
+    private int employeeCount;
+
+    private final EmployeeManagerService employeeService = new EmployeeManagerService();
+
+    private List<EmployeeManagerModel> employees;
+
+    @Setup
+    public void setUp() {
+        employees = new ArrayList<>();
+        for (int i = 0; i < employeeCount; i++) {
+            employees.add(BenchmarkData.employee(String.valueOf(i), "1", LocalDateTime.now().minusYears(i % 10)));
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDTO> convertToEmployeeResponseDTO() {
+        return employeeService.convertToEmployeeResponseDTO(employees);
+    }
+}
@@ -0,0 +1,169 @@
+package com.sql.MySql.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sql.MySql.MySqlApplication;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.ResponseDTO;
+import com.sql.MySql.services.EmployeeManagerService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The reads behind /api/managerWithYear and /api/employees?unpaged=true, as they were (managed entities
+ * copied into DTOs, or kept as entities with dirty-checking snapshots) against what EmpImpl does now
+ * (constructor projections, and a read-only hint for the entity list). Each "entities" operation gets its
+ * own persistence context, as a request would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    @Param({ "entities", "projection" })
+    private String read;
+
+    @Param({ "5" })
+    private int managerCount;
+
+    @Param({ "150" })
+    private int employeesPerManager;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeManagerCustomRepository empImpl;
+
+    private EmployeeManagerService employeeService;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private LocalDateTime minJoiningDate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MySqlApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--employee.hierarchy-cache.enabled=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+        empImpl = context.getBean(EmployeeManagerCustomRepository.class);
+        employeeService = context.getBean(EmployeeManagerService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        minJoiningDate = LocalDateTime.now().minusYears(2);
+
+        List<EmployeeManagerModel> employees = new ArrayList<>();
+        for (int m = 1; m <= managerCount; m++) {
+            EmployeeManagerModel manager = BenchmarkData.employee(String.valueOf(m), "0", LocalDateTime.now().minusYears(10));
+            manager.setDepartment(BenchmarkData.DEPARTMENTS[m % BenchmarkData.DEPARTMENTS.length]);
+            employees.add(manager);
+            for (int e = 0; e < employeesPerManager; e++) {
+                EmployeeManagerModel employee = BenchmarkData.employee(m + "-" + e, String.valueOf(m),
+                        LocalDateTime.now().minusYears(e % 10));
+                employee.setDepartment(manager.getDepartment());
+                employees.add(employee);
+            }
+        }
+        employeeService.addEmployees(employees);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // managerWithYear?managerId=1&year=2
+    @Benchmark
+    public List<EmployeeResponseDTO> managerReports() {
+        if ("projection".equals(read)) {
+            return empImpl.findEmployeeDTOsByManagerIdAndJoiningDate("1", minJoiningDate);
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<EmployeeManagerModel> employees = entityManager.createQuery("SELECT e FROM EmployeeManagerModel e "
+                    + "WHERE e.managerId = :managerId AND e.dateOfJoining <= :minJoiningDate", EmployeeManagerModel.class)
+                    .setParameter("managerId", "1")
+                    .setParameter("minJoiningDate", minJoiningDate)
+                    .getResultList();
+            return employeeService.convertToEmployeeResponseDTO(employees);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    // managerWithYear?year=2
+    @Benchmark
+    public List<ResponseDTO.Details> allManagers() {
+        if ("projection".equals(read)) {
+            return empImpl.findManagersWithEmployees(minJoiningDate);
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Object[]> rows = entityManager.createQuery("SELECT m, e FROM EmployeeManagerModel m "
+                    + "LEFT JOIN EmployeeManagerModel e ON e.managerId = m.id AND e.dateOfJoining <= :minJoiningDate "
+                    + "WHERE m.managerId = '0' ORDER BY m.id, e.id", Object[].class)
+                    .setParameter("minJoiningDate", minJoiningDate)
+                    .getResultList();
+            Map<EmployeeManagerModel, List<EmployeeManagerModel>> managers = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                List<EmployeeManagerModel> employees = managers.computeIfAbsent((EmployeeManagerModel) row[0],
+                        manager -> new ArrayList<>());
+                if (row[1] != null) {
+                    employees.add((EmployeeManagerModel) row[1]);
+                }
+            }
+            List<ResponseDTO.Details> detailsList = new ArrayList<>();
+            for (Map.Entry<EmployeeManagerModel, List<EmployeeManagerModel>> entry : managers.entrySet()) {
+                ResponseDTO.Details details = new ResponseDTO.Details();
+                details.setAccountManager(entry.getKey().getName());
+                details.setDepartment(entry.getKey().getDepartment());
+                details.setId(entry.getKey().getId());
+                details.setEmployeeList(employeeService.convertToEmployeeResponseDTO(entry.getValue()));
+                detailsList.add(details);
+            }
+            return detailsList;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    // employees?unpaged=true
+    @Benchmark
+    public List<EmployeeManagerModel> allEmployees() {
+        if ("projection".equals(read)) {
+            return empImpl.getAllEmployees();
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("SELECT e FROM EmployeeManagerModel e", EmployeeManagerModel.class)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.sql.MySql.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sql.MySql.MySqlApplication;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.repositories.EmployeeManagerRepository;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.services.EmployeeManagerService;
+
+// Cost of the per-query timers: cache-served lookups are the worst case, a real query the usual one
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 6, time = 3)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class RepositoryMetricsBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean repositoryMetrics;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeManagerCustomRepository empImpl;
+
+    private EmployeeManagerRepository employeeManagerMainRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MySqlApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--employee.metrics.repository.enabled=" + repositoryMetrics,
+                        "--employee.hierarchy-cache.enabled=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+        empImpl = context.getBean(EmployeeManagerCustomRepository.class);
+        employeeManagerMainRepository = context.getBean(EmployeeManagerRepository.class);
+
+        List<EmployeeManagerModel> employees = new ArrayList<>();
+        employees.add(BenchmarkData.employee("1", "0", LocalDateTime.now().minusYears(10)));
+        for (int e = 0; e < 20; e++) {
+            employees.add(BenchmarkData.employee("1-" + e, "1", LocalDateTime.now().minusYears(e % 10)));
+        }
+        context.getBean(EmployeeManagerService.class).addEmployees(employees);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Query cache hit
+    @Benchmark
+    public EmployeeManagerModel cachedLookup() {
+        return empImpl.findByExistingManagerId("1");
+    }
+
+    // Second-level cache hit through Spring Data
+    @Benchmark
+    public Optional<EmployeeManagerModel> cachedFindById() {
+        return employeeManagerMainRepository.findById("1-1");
+    }
+
+    // Goes to the database every time
+    @Benchmark
+    public List<EmployeeResponseDTO> reportsQuery() {
+        return empImpl.findEmployeeDTOsByManagerId("1");
+    }
+}
@@ -0,0 +1,210 @@
+package com.sql.MySql.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.sql.MySql.MySqlApplication;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.services.EmployeeManagerService;
+
+/**
+ * Closed-loop HTTP load against GET /api/managerWithYear with every JDBC statement delayed by
+ * {@link #STATEMENT_LATENCY_MS}, once on Tomcat's platform-thread pool and once on virtual
+ * threads. Both runs get the same connection pool, so the only difference is whether request
+ * threads or pooled connections are the concurrency limit.
+ *
+ * Slow and needs a Java 21 runtime, so it only runs on request (loadtest.* system properties
+ * override the sizes below):
+ * mvn test -Dtest=RequestThreadingLoadTest -Dloadtest=true -Djacoco.skip=true
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class RequestThreadingLoadTest {
+
+    private static final long STATEMENT_LATENCY_MS = Long.getLong("loadtest.latency-ms", 100);
+    private static final int TOMCAT_MAX_THREADS = Integer.getInteger("loadtest.tomcat-threads", 10);
+    private static final int POOL_SIZE = Integer.getInteger("loadtest.pool-size", 50);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 50);
+    private static final long WARMUP_MS = 3_000;
+    private static final long MEASUREMENT_MS = 10_000;
+
+    @Test
+    void virtualThreadsLiftTheRequestThreadCeiling() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%-10s %10s %10s %10s%n", "threads", "req/s", "p50 ms", "p99 ms");
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertTrue(virtual.throughput > platform.throughput,
+                "Expected virtual threads to out-run " + TOMCAT_MAX_THREADS + " platform threads");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MySqlApplication.class)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new LatencyInjector()))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--employee.hierarchy-cache.enabled=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false")) {
+            seed(context.getBean(EmployeeManagerService.class));
+            String port = context.getEnvironment().getProperty("local.server.port");
+            URI uri = URI.create("http://localhost:" + port + "/api/managerWithYear?managerId=1&year=2");
+            return load(mode, uri);
+        }
+    }
+
+    private static void seed(EmployeeManagerService employeeService) {
+        List<EmployeeManagerModel> employees = new ArrayList<>();
+        employees.add(BenchmarkData.employee("1", "0", LocalDateTime.now().minusYears(10)));
+        for (int e = 0; e < 20; e++) {
+            employees.add(BenchmarkData.employee("1-" + e, "1", LocalDateTime.now().minusYears(e % 5)));
+        }
+        employeeService.addEmployees(employees);
+    }
+
+    private static Result load(String mode, URI uri) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long measureFrom = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WARMUP_MS);
+        long measureUntil = measureFrom + TimeUnit.MILLISECONDS.toNanos(MEASUREMENT_MS);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    long start;
+                    while ((start = System.nanoTime()) < measureUntil) {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        assertEquals(200, response.statusCode());
+                        if (start >= measureFrom) {
+                            if (count == latencies.length) {
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                            }
+                            latencies[count++] = System.nanoTime() - start;
+                        }
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            Arrays.sort(all);
+            return new Result(mode, all.length * 1000.0 / MEASUREMENT_MS, percentile(all, 0.50),
+                    percentile(all, 0.99));
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static final class Result {
+        private final String mode;
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+
+        private Result(String mode, double throughput, double p50, double p99) {
+            this.mode = mode;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %10.0f %10.1f %10.1f", mode, throughput, p50, p99);
+        }
+    }
+
+    // Stands in for a remote database: every statement execution sleeps before reaching H2
+    private static final class LatencyInjector implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource) || bean instanceof DelegatingDataSource) {
+                return bean;
+            }
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return delayed(super.getConnection(), Connection.class);
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return delayed(super.getConnection(username, password), Connection.class);
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T delayed(T target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    Thread.sleep(STATEMENT_LATENCY_MS);
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof Statement && method.getReturnType().isInterface()) {
+                        return delayed(result, (Class<Object>) method.getReturnType());
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.sql.MySql.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.sql.MySql.MySqlApplication;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.services.EmployeeManagerService;
+
+// /api/managerWithYear over HTTP with and without the response byte cache; the hierarchy index
+// stays on so the uncached side is already served without SQL
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 8, time = 3)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class ResponseCacheBenchmark {
+
+    @Param({ "true", "false" })
+    private String responseCache;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private HttpRequest managerWithYear;
+
+    private HttpRequest allManagers;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MySqlApplication.class)
+                .run("--server.port=0",
+                        "--employee.response-cache.enabled=" + responseCache,
+                        "--employee.conditional-get.enabled=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false");
+
+        List<EmployeeManagerModel> employees = new ArrayList<>();
+        for (int m = 1; m <= 5; m++) {
+            EmployeeManagerModel manager = BenchmarkData.employee(String.valueOf(m), "0", LocalDateTime.now().minusYears(10));
+            manager.setDepartment(BenchmarkData.DEPARTMENTS[m % BenchmarkData.DEPARTMENTS.length]);
+            employees.add(manager);
+            for (int e = 0; e < 50; e++) {
+                EmployeeManagerModel employee = BenchmarkData.employee(m + "-" + e, String.valueOf(m),
+                        LocalDateTime.now().minusYears(e % 10));
+                employee.setDepartment(manager.getDepartment());
+                employees.add(employee);
+            }
+        }
+        context.getBean(EmployeeManagerService.class).addEmployees(employees);
+
+        String baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        client = HttpClient.newHttpClient();
+        managerWithYear = HttpRequest.newBuilder(URI.create(baseUri + "/managerWithYear?managerId=1&year=3")).build();
+        allManagers = HttpRequest.newBuilder(URI.create(baseUri + "/managerWithYear")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] singleManagerWithExperience() throws IOException, InterruptedException {
+        return client.send(managerWithYear, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] allManagers() throws IOException, InterruptedException {
+        return client.send(allManagers, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
@@ -0,0 +1,74 @@
+package com.sql.MySql.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.response.EmployeeResponseDTO;
+import com.sql.MySql.response.ResponseDTO;
+import com.sql.MySql.services.EmployeeManagerService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "10", "1000" })
+    private int employeeCount;
+
+    // Same defaults as the ObjectMapper Spring MVC uses (JavaTimeModule for the @JsonFormat LocalDateTime fields)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private EmployeeResponseDTO employee;
+
+    private ResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        List<EmployeeManagerModel> employees = new ArrayList<>();
+        for (int i = 0; i < employeeCount; i++) {
+            employees.add(BenchmarkData.employee(String.valueOf(i), "1", LocalDateTime.now().minusYears(i % 10)));
+        }
+        List<EmployeeResponseDTO> dtos = new EmployeeManagerService().convertToEmployeeResponseDTO(employees);
+        employee = dtos.get(0);
+
+        ResponseDTO.Details details = new ResponseDTO.Details();
+        details.setId("1");
+        details.setAccountManager("Manager 1");
+        details.setDepartment("sales");
+        details.setEmployeeList(dtos);
+        response = new ResponseDTO("1");
+        response.setMessage("Successfully fetched");
+        response.setDetails(List.of(details));
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeResponseDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializeResponseDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
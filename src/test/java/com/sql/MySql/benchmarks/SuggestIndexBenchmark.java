@@ -0,0 +1,75 @@
+package com.sql.MySql.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sql.MySql.models.EmployeeManagerModel;
+import com.sql.MySql.repositories.EmployeeManagerCustomRepository;
+import com.sql.MySql.response.EmployeeSuggestionDTO;
+import com.sql.MySql.services.EmployeeSuggestIndex;
+
+// Typeahead lookups against an index of generated names; short prefixes match thousands of keys
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SuggestIndexBenchmark {
+
+    private static final String[] FIRST = { "Aarav", "Anna", "Ann", "John", "Joanna", "Maria", "Mario", "Priya",
+            "Rahul", "Sofia", "Zoë", "Émile" };
+    private static final String[] LAST = { "Smith", "Sharma", "Stone", "Lee", "Garcia", "Iyer", "Khan", "Müller" };
+
+    @Param({ "100000" })
+    private int employees;
+
+    @Param({ "a", "jo", "maria s", "zoe" })
+    private String query;
+
+    private EmployeeSuggestIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<EmployeeSuggestionDTO> all = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            EmployeeManagerModel employee = BenchmarkData.employee(String.valueOf(i), "1", LocalDateTime.now());
+            employee.setName(FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)]);
+            all.add(new EmployeeSuggestionDTO(employee.getId(), employee.getName(), employee.getEmail()));
+        }
+        EmployeeManagerCustomRepository repository = mock(EmployeeManagerCustomRepository.class);
+        when(repository.countEmployees()).thenReturn((long) all.size());
+        when(repository.findAllSuggestions()).thenReturn(all);
+
+        index = new EmployeeSuggestIndex();
+        ReflectionTestUtils.setField(index, "employeeManagerRepository", repository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxEmployees", employees);
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestionDTO> suggest() {
+        return index.suggest(query, 10);
+    }
+}
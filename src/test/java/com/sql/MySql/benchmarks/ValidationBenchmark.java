@@ -0,0 +1,104 @@
+package com.sql.MySql.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sql.MySql.services.EmployeeManagerService;
+import com.sql.MySql.services.EmployeeValidator;
+
+// Format checks only: the uniqueness probes need a database and are covered by ManagerWithExperienceBenchmark's context
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final EmployeeValidator employeeValidator = new EmployeeValidator();
+
+    private final EmployeeManagerService employeeService = new EmployeeManagerService();
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(employeeService, "employeeValidator", employeeValidator);
+    }
+
+    @Benchmark
+    public List<String> validator_validPayload() {
+        return employeeValidator.validate("1", "john.doe@example.com", "Associate", "1234567890", "Engineering");
+    }
+
+    @Benchmark
+    public List<String> validator_invalidPayload() {
+        return employeeValidator.validate(null, "john.doe@", "Developer", "12345abcde", "HR");
+    }
+
+    // Rejected before any repository call, so no database is needed
+    @Benchmark
+    public void validateEmployeeData_invalidPayload(Blackhole blackhole) {
+        try {
+            employeeService.validateEmployeeData("1", "john.doe@", "Associate", "1234567890", "HR");
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public boolean legacy_validPayload() {
+        return legacyFormatChecks("1", "john.doe@example.com", "Associate", "1234567890", "Engineering");
+    }
+
+    @Benchmark
+    public void legacy_invalidPayload(Blackhole blackhole) {
+        try {
+            blackhole.consume(legacyFormatChecks("1", "john.doe@", "Associate", "1234567890", "HR"));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    // The format checks of validateEmployeeData as they were before EmployeeValidator, kept as the baseline
+    private static boolean legacyFormatChecks(String id, String email, String designation, String mobileNumber,
+            String department) {
+        if (id == null) {
+            throw new IllegalArgumentException("Employee ID cannot be null.");
+        }
+        if (!"Account Manager".equalsIgnoreCase(designation) && !"associate".equalsIgnoreCase(designation)) {
+            throw new IllegalArgumentException("Designation can only be Account Manager or associate.");
+        }
+        if (!"sales".equalsIgnoreCase(department) &&
+                !"delivery".equalsIgnoreCase(department) &&
+                !"QA".equalsIgnoreCase(department) &&
+                !"engineering".equalsIgnoreCase(department) &&
+                !"BA".equalsIgnoreCase(department)) {
+            throw new IllegalArgumentException(
+                    "Invalid department. Must be one of: sales, delivery, QA, engineering, BA.");
+        }
+        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
+        Pattern pattern = Pattern.compile(emailRegex);
+        Matcher matcher = pattern.matcher(email);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid email format.");
+        }
+        if (mobileNumber.length() != 10 || !mobileNumber.matches("\\d+")) {
+            throw new IllegalArgumentException("Invalid mobile number. It must be a 10-digit number.");
+        }
+        return true;
+    }
+}